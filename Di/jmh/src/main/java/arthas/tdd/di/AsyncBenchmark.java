@@ -0,0 +1,76 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of resolving a fan-out graph whose leaves block for 5 ms in their constructors, as if loading data: a root
+ * with four branches of two leaves each. {@code get} builds the eight leaves one after another; {@code getAsync}
+ * builds them concurrently on a cached thread pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncBenchmark {
+    public static class Leaf {
+        public Leaf() throws InterruptedException {
+            Thread.sleep(5);
+        }
+    }
+
+    public static class Branch {
+        @Inject
+        public Branch(Leaf left, Leaf right) { }
+    }
+
+    public static class Root {
+        @Inject
+        public Root(Branch first, Branch second, Branch third, Branch fourth) { }
+    }
+
+    private Context context;
+    private ExecutorService executor;
+    private final ComponentRef<Root> root = ComponentRef.of(Root.class);
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Leaf.class, Leaf.class);
+        config.bind(Branch.class, Branch.class);
+        config.bind(Root.class, Root.class);
+        context = config.getContext();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object get() {
+        return context.get(root);
+    }
+
+    @Benchmark
+    public Object getAsync() {
+        return context.getAsync(root, executor).join();
+    }
+}
@@ -0,0 +1,89 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request: bind a principal and a tenant on top of the application context and look up a service and the
+ * principal. {@code child} overlays a built context; {@code config} is what it took before, a fresh configuration
+ * with every binding repeated and the whole graph validated again.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChildContextBenchmark {
+    public record Principal(String name) { }
+
+    public record Tenant(String id) { }
+
+    public static class Repository { }
+
+    public static class Service {
+        @Inject
+        public Service(Repository repository) { }
+    }
+
+    public static class Controller {
+        @Inject
+        public Controller(Service service, Repository repository) { }
+    }
+
+    @Named("current")
+    static class Current { }
+
+    private Context application;
+    private Annotation current;
+    private final ComponentRef<Service> service = ComponentRef.of(Service.class);
+    private final ComponentRef<Principal> principal = ComponentRef.of(Principal.class);
+
+    @Setup
+    public void setUp() {
+        current = Current.class.getAnnotation(Named.class);
+        ContextConfig config = new ContextConfig();
+        bindApplication(config);
+        application = config.getContext();
+    }
+
+    private static void bindApplication(ContextConfig config) {
+        config.bind(Repository.class, new Repository());
+        config.bind(Service.class, Service.class);
+        config.bind(Controller.class, Controller.class);
+    }
+
+    @Benchmark
+    public void child(Blackhole blackhole) {
+        Context request = new ChildContext(application)
+                .bind(Principal.class, new Principal("alice"))
+                .bind(Tenant.class, new Tenant("acme"), current);
+        blackhole.consume(request.get(service).get());
+        blackhole.consume(request.get(principal).get());
+    }
+
+    @Benchmark
+    public void config(Blackhole blackhole) {
+        ContextConfig config = new ContextConfig();
+        bindApplication(config);
+        config.bind(Principal.class, new Principal("alice"));
+        config.bind(Tenant.class, new Tenant("acme"), current);
+        Context request = config.getContext();
+        blackhole.consume(request.get(service).get());
+        blackhole.consume(request.get(principal).get());
+    }
+}
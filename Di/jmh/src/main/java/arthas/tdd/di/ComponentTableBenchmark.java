@@ -0,0 +1,95 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Named;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot lookup for refs the context has not assigned, against the {@code HashMap} copy the context used to hold.
+ * {@code lookupTable} and {@code lookupMap} look up every component once; with the GC profiler, the allocation of
+ * {@code buildTable} and {@code buildMap} is the heap each structure retains.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComponentTableBenchmark {
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private Map<Component, Integer> slots;
+    private Component[] lookups;
+    private ComponentTable table;
+    private Map<Component, Integer> map;
+
+    @Setup
+    public void setUp() {
+        slots = new HashMap<>();
+        lookups = new Component[size];
+        for (int i = 0; i < size; i++) {
+            slots.put(new Component(Object.class, new Name("component-" + i)), i);
+            lookups[i] = new Component(Object.class, new Name("component-" + i));
+        }
+        table = new ComponentTable(slots);
+        map = new HashMap<>(slots);
+    }
+
+    @Benchmark
+    public void lookupTable(Blackhole blackhole) {
+        for (Component component : lookups) {
+            blackhole.consume(table.get(component));
+        }
+    }
+
+    @Benchmark
+    public void lookupMap(Blackhole blackhole) {
+        for (Component component : lookups) {
+            blackhole.consume(map.get(component));
+        }
+    }
+
+    @Benchmark
+    public Object buildTable() {
+        return new ComponentTable(slots);
+    }
+
+    @Benchmark
+    public Object buildMap() {
+        return new HashMap<>(slots);
+    }
+
+    record Name(String value) implements Named {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named named && Objects.equals(value, named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+}
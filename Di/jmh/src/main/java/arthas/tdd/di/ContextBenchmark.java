@@ -0,0 +1,86 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Context.get} for each kind of binding, with refs built once by the caller.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextBenchmark {
+    public interface Instance { }
+
+    public static class Prototype { }
+
+    @Singleton
+    public static class Shared { }
+
+    @Named("qualified")
+    public static class Qualified { }
+
+    private Context context;
+    private final ComponentRef<Instance> instance = ComponentRef.of(Instance.class);
+    private final ComponentRef<Prototype> prototype = ComponentRef.of(Prototype.class);
+    private final ComponentRef<Shared> singleton = ComponentRef.of(Shared.class);
+    private final ComponentRef<Qualified> qualified = ComponentRef.of(Qualified.class,
+            Qualified.class.getAnnotation(Named.class));
+    private final ComponentRef<Provider<Prototype>> provider = new ComponentRef<>() { };
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Instance.class, new Instance() { });
+        config.bind(Prototype.class, Prototype.class);
+        config.bind(Shared.class, Shared.class);
+        config.bind(Qualified.class, Qualified.class, Qualified.class.getAnnotation(Named.class));
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public Object instance() {
+        return context.get(instance);
+    }
+
+    @Benchmark
+    public Object prototype() {
+        return context.get(prototype);
+    }
+
+    @Benchmark
+    public Object singleton() {
+        return context.get(singleton);
+    }
+
+    @Benchmark
+    public Object qualified() {
+        return context.get(qualified);
+    }
+
+    @Benchmark
+    public Object provider() {
+        return context.get(provider);
+    }
+
+    @Benchmark
+    public Object providerGet() {
+        return context.get(provider).get().get();
+    }
+}
@@ -0,0 +1,83 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a prototype through the context, one benchmark per injection style, each with three dependencies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectionBenchmark {
+    public interface Clock { }
+
+    public interface Repository { }
+
+    public interface Mailer { }
+
+    public static class ConstructorInjected {
+        @Inject
+        public ConstructorInjected(Clock clock, Repository repository, Mailer mailer) { }
+    }
+
+    public static class FieldInjected {
+        @Inject
+        Clock clock;
+        @Inject
+        Repository repository;
+        @Inject
+        Mailer mailer;
+    }
+
+    public static class MethodInjected {
+        @Inject
+        void install(Clock clock, Repository repository, Mailer mailer) { }
+    }
+
+    private Context context;
+    private final ComponentRef<ConstructorInjected> constructor = ComponentRef.of(ConstructorInjected.class);
+    private final ComponentRef<FieldInjected> field = ComponentRef.of(FieldInjected.class);
+    private final ComponentRef<MethodInjected> method = ComponentRef.of(MethodInjected.class);
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Clock.class, new Clock() { });
+        config.bind(Repository.class, new Repository() { });
+        config.bind(Mailer.class, new Mailer() { });
+        config.bind(ConstructorInjected.class, ConstructorInjected.class);
+        config.bind(FieldInjected.class, FieldInjected.class);
+        config.bind(MethodInjected.class, MethodInjected.class);
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public Object constructor() {
+        return context.require(constructor);
+    }
+
+    @Benchmark
+    public Object field() {
+        return context.require(field);
+    }
+
+    @Benchmark
+    public Object method() {
+        return context.require(method);
+    }
+}
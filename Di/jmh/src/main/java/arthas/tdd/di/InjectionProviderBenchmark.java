@@ -0,0 +1,87 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectionProviderBenchmark {
+    public interface Service { }
+
+    public static class Prototype {
+        final Service constructed;
+        @Inject
+        Service field;
+        Service installed;
+
+        @Inject
+        public Prototype(Service service) {
+            this.constructed = service;
+        }
+
+        @Inject
+        void install(Service service) {
+            this.installed = service;
+        }
+    }
+
+    private Context context;
+    private Service service;
+    private InjectionProvider<Prototype> compiled;
+    private ComponentRef<Service> ref;
+    private InjectionProvider.Injectable<Constructor<Prototype>> constructor;
+    private InjectionProvider.Injectable<Field> field;
+    private InjectionProvider.Injectable<Method> method;
+
+    @Setup
+    public void setUp() throws Exception {
+        service = new Service() { };
+        ContextConfig config = new ContextConfig();
+        config.bind(Service.class, service);
+        context = config.getContext();
+        compiled = new InjectionProvider<>(Prototype.class);
+        ref = ComponentRef.of(Service.class);
+        constructor = InjectionProvider.Injectable.of(Prototype.class.getConstructor(Service.class));
+        field = InjectionProvider.Injectable.of(Prototype.class.getDeclaredField("field"));
+        method = InjectionProvider.Injectable.of(Prototype.class.getDeclaredMethod("install", Service.class));
+    }
+
+    @Benchmark
+    public Prototype direct() {
+        Prototype instance = new Prototype(context.get(ref).get());
+        instance.field = context.get(ref).get();
+        instance.install(context.get(ref).get());
+        return instance;
+    }
+
+    @Benchmark
+    public Prototype reflective() throws Exception {
+        Prototype instance = constructor.element().newInstance(constructor.toDependencies(context));
+        field.element().set(instance, field.toDependencies(context)[0]);
+        method.element().invoke(instance, method.toDependencies(context));
+        return instance;
+    }
+
+    @Benchmark
+    public Prototype methodHandle() {
+        return compiled.get(context);
+    }
+}
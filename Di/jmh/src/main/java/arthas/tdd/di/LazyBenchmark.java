@@ -0,0 +1,95 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code eager} and {@code lazy} build a context and get a component whose constructor takes an expensive singleton
+ * it never calls. {@code direct} and {@code proxied} call a cheap method on an already created component, without and
+ * through the lazy proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyBenchmark {
+    public interface Report {
+        int pages();
+    }
+
+    @Singleton
+    public static class ExpensiveReport implements Report {
+        public ExpensiveReport() {
+            Blackhole.consumeCPU(100_000);
+        }
+
+        @Override
+        public int pages() {
+            return 42;
+        }
+    }
+
+    @Lazy
+    @Singleton
+    public static class LazyReport extends ExpensiveReport { }
+
+    public static class Dashboard {
+        @Inject
+        public Dashboard(Report report) { }
+    }
+
+    private Report direct;
+    private Report proxied;
+    private final ComponentRef<Dashboard> dashboard = ComponentRef.of(Dashboard.class);
+    private final ComponentRef<Report> report = ComponentRef.of(Report.class);
+
+    @Setup
+    public void setUp() {
+        direct = new ExpensiveReport();
+        ContextConfig config = new ContextConfig();
+        config.bind(Report.class, LazyReport.class);
+        proxied = config.getContext().get(report).get();
+        proxied.pages();
+    }
+
+    @Benchmark
+    public Object eager() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Report.class, ExpensiveReport.class);
+        config.bind(Dashboard.class, Dashboard.class);
+        return config.getContext().get(dashboard).get();
+    }
+
+    @Benchmark
+    public Object lazy() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Report.class, LazyReport.class);
+        config.bind(Dashboard.class, Dashboard.class);
+        return config.getContext().get(dashboard).get();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.pages();
+    }
+
+    @Benchmark
+    public int proxied() {
+        return proxied.pages();
+    }
+}
@@ -0,0 +1,81 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code List<T>} over ten bindings: all singletons, where the list is built once and shared, against all prototypes,
+ * where every lookup creates the members and copies them into a new list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultibindingBenchmark {
+    public interface Plugin { }
+
+    @Singleton
+    public static class SingletonPlugin implements Plugin { }
+
+    public interface Filter { }
+
+    public static class PrototypeFilter implements Filter { }
+
+    private Context context;
+    private final ComponentRef<List<Plugin>> plugins = new ComponentRef<>() { };
+    private final ComponentRef<List<Filter>> filters = new ComponentRef<>() { };
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        for (int i = 0; i < 10; i++) {
+            config.bind(Plugin.class, SingletonPlugin.class, new Name("plugin-" + i));
+            config.bind(Filter.class, PrototypeFilter.class, new Name("filter-" + i));
+        }
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public Object singletons() {
+        return context.get(plugins);
+    }
+
+    @Benchmark
+    public Object prototypes() {
+        return context.get(filters);
+    }
+
+    record Name(String value) implements Named {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named named && Objects.equals(value, named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+}
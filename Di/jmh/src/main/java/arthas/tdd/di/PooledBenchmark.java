@@ -0,0 +1,75 @@
+package arthas.tdd.di;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow, use and give back an 8 KB buffer from four threads: a new prototype every time against a {@link Pooled} one
+ * released after use. Run with the GC profiler to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PooledBenchmark {
+    public static class Buffer implements Reusable {
+        final byte[] bytes = new byte[8192];
+        int position;
+
+        void write(byte value) {
+            bytes[position++] = value;
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(bytes, 0, position, (byte) 0);
+            position = 0;
+        }
+    }
+
+    @Pooled
+    public static class PooledBuffer extends Buffer { }
+
+    private Context context;
+    private final ComponentRef<Buffer> prototype = ComponentRef.of(Buffer.class);
+    private final ComponentRef<PooledBuffer> pooled = ComponentRef.of(PooledBuffer.class);
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Buffer.class, Buffer.class);
+        config.bind(PooledBuffer.class, PooledBuffer.class);
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public int prototype() {
+        Buffer buffer = context.get(prototype).get();
+        buffer.write((byte) 1);
+        return buffer.position;
+    }
+
+    @Benchmark
+    public int pooled() {
+        PooledBuffer buffer = context.get(pooled).get();
+        buffer.write((byte) 1);
+        int position = buffer.position;
+        context.release(pooled, buffer);
+        return position;
+    }
+}
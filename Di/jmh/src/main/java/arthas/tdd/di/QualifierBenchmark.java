@@ -0,0 +1,75 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Named;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution by a caller-built ref, with and without a qualifier. The qualifier is a runtime annotation proxy;
+ * {@code annotationEquals} shows what comparing it cost on every lookup before qualifiers were interned, and
+ * {@code qualifiedPerCall} builds the ref on every lookup, paying for interning its qualifier each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QualifierBenchmark {
+    public interface Service { }
+
+    @Named("primary")
+    static class Primary { }
+
+    @Named("primary")
+    static class AnotherPrimary { }
+
+    private Context context;
+    private ComponentRef<Service> unqualified;
+    private ComponentRef<Service> qualified;
+    private Annotation annotation;
+    private Annotation another;
+
+    @Setup
+    public void setUp() {
+        annotation = Primary.class.getAnnotation(Named.class);
+        another = AnotherPrimary.class.getAnnotation(Named.class);
+        ContextConfig config = new ContextConfig();
+        config.bind(Service.class, new Service() { });
+        config.bind(Service.class, new Service() { }, annotation);
+        context = config.getContext();
+        unqualified = ComponentRef.of(Service.class);
+        qualified = ComponentRef.of(Service.class, another);
+    }
+
+    @Benchmark
+    public Object unqualified() {
+        return context.get(unqualified);
+    }
+
+    @Benchmark
+    public Object qualified() {
+        return context.get(qualified);
+    }
+
+    @Benchmark
+    public Object qualifiedPerCall() {
+        return context.get(ComponentRef.of(Service.class, another));
+    }
+
+    @Benchmark
+    public boolean annotationEquals() {
+        return annotation.hashCode() == another.hashCode() && annotation.equals(another);
+    }
+}
@@ -0,0 +1,113 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Swap the implementation of one feature used by a single singleton, among {@code size} unrelated singletons that are
+ * already created. {@code rebind} rebinds on the live configuration and gets the feature's user again; {@code rebuild}
+ * is the alternative, a new configuration whose singletons are all created again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RebindBenchmark {
+    public interface Feature { }
+
+    public static class Old implements Feature { }
+
+    public static class New implements Feature { }
+
+    @Singleton
+    public static class FeatureUser {
+        @Inject
+        public FeatureUser(Feature feature) { }
+    }
+
+    @Singleton
+    public static class Unrelated { }
+
+    @Param({"100", "1000"})
+    int size;
+
+    private ContextConfig config;
+    private Name[] names;
+    private boolean swapped;
+    private final ComponentRef<FeatureUser> user = ComponentRef.of(FeatureUser.class);
+
+    @Setup
+    public void setUp() {
+        names = new Name[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = new Name("unrelated-" + i);
+        }
+        config = configure(Old.class);
+    }
+
+    private <Implementation extends Feature> ContextConfig configure(Class<Implementation> feature) {
+        ContextConfig config = new ContextConfig();
+        config.bind(Feature.class, feature);
+        config.bind(FeatureUser.class, FeatureUser.class);
+        for (Name name : names) {
+            config.bind(Unrelated.class, Unrelated.class, name);
+        }
+        Context context = config.getContext();
+        for (Name name : names) {
+            context.get(ComponentRef.of(Unrelated.class, name));
+        }
+        return config;
+    }
+
+    @Benchmark
+    public Object rebind() {
+        swapped = !swapped;
+        if (swapped) {
+            config.bind(Feature.class, New.class);
+        } else {
+            config.bind(Feature.class, Old.class);
+        }
+        return config.getContext().get(user);
+    }
+
+    @Benchmark
+    public Object rebuild() {
+        swapped = !swapped;
+        return (swapped ? configure(New.class) : configure(Old.class)).getContext().get(user);
+    }
+
+    record Name(String value) implements Named {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named named && Objects.equals(value, named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state reads of a created singleton and racing first access to a fresh one, at 1 to 64 threads.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SingletonBenchmark {
+    @Singleton
+    public static class Service { }
+
+    @State(Scope.Benchmark)
+    public static class Created {
+        Context context;
+        ComponentRef<Service> ref = ComponentRef.of(Service.class);
+
+        @Setup
+        public void setUp() {
+            ContextConfig config = new ContextConfig();
+            config.bind(Service.class, Service.class);
+            context = config.getContext();
+            context.get(ref);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Fresh {
+        Context context;
+        ComponentRef<Service> ref = ComponentRef.of(Service.class);
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            ContextConfig config = new ContextConfig();
+            config.bind(Service.class, Service.class);
+            context = config.getContext();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(1)
+    public Object read_1(Created state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(4)
+    public Object read_4(Created state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(16)
+    public Object read_16(Created state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(64)
+    public Object read_64(Created state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 50)
+    @Warmup(iterations = 10)
+    @Threads(1)
+    public Object firstAccess_1(Fresh state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 50)
+    @Warmup(iterations = 10)
+    @Threads(4)
+    public Object firstAccess_4(Fresh state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 50)
+    @Warmup(iterations = 10)
+    @Threads(16)
+    public Object firstAccess_16(Fresh state) {
+        return state.context.get(state.ref);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 50)
+    @Warmup(iterations = 10)
+    @Threads(64)
+    public Object firstAccess_64(Fresh state) {
+        return state.context.get(state.ref);
+    }
+}
@@ -0,0 +1,118 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of a small application: bind every component and build the context, once per fresh JVM.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    public interface Repository { }
+
+    public interface Service { }
+
+    public interface Controller { }
+
+    public static class Clock { }
+
+    public static class Config { }
+
+    public abstract static class Base {
+        @Inject
+        Clock clock;
+
+        @Inject
+        void configure(Config config) { }
+    }
+
+    public static class Database extends Base {
+        @Inject
+        public Database(Config config) { }
+    }
+
+    public static class UserRepository extends Base implements Repository {
+        @Inject
+        public UserRepository(Database database, Clock clock) { }
+    }
+
+    public static class OrderRepository extends Base implements Repository {
+        @Inject
+        Database database;
+    }
+
+    public static class UserService extends Base implements Service {
+        @Inject
+        public UserService(@Named("users") Repository users, Provider<Database> database) { }
+
+        @Inject
+        void audit(Clock clock) { }
+    }
+
+    public static class OrderService extends Base implements Service {
+        @Inject
+        @Named("orders")
+        Repository orders;
+
+        @Inject
+        @Named("users")
+        Service users;
+    }
+
+    public static class UserController extends Base implements Controller {
+        @Inject
+        public UserController(@Named("users") Service users) { }
+    }
+
+    public static class OrderController extends Base implements Controller {
+        @Inject
+        public OrderController(@Named("orders") Service orders, @Named("users") Service users) { }
+
+        @Inject
+        void install(Config config, Clock clock) { }
+    }
+
+    @Named("users")
+    static class Users { }
+
+    @Named("orders")
+    static class Orders { }
+
+    private static void bindAll(ContextConfig config) {
+        Named users = Users.class.getAnnotation(Named.class);
+        Named orders = Orders.class.getAnnotation(Named.class);
+        config.bind(Clock.class, new Clock());
+        config.bind(Config.class, new Config());
+        config.bind(Database.class, Database.class);
+        config.bind(Repository.class, UserRepository.class, users);
+        config.bind(Repository.class, OrderRepository.class, orders);
+        config.bind(Service.class, UserService.class, users);
+        config.bind(Service.class, OrderService.class, orders);
+        config.bind(Controller.class, UserController.class, users);
+        config.bind(Controller.class, OrderController.class, orders);
+    }
+
+    @Benchmark
+    public Context coldStart() {
+        ContextConfig config = new ContextConfig();
+        bindAll(config);
+        return config.getContext();
+    }
+}
@@ -0,0 +1,86 @@
+package arthas.tdd.di;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads of a thread-scoped component once every thread has its instance, against building a prototype each time, and
+ * a burst of short-lived threads that each take their first instance.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ThreadScopeBenchmark {
+    @ThreadScoped
+    public static class Formatter {
+        final StringBuilder buffer = new StringBuilder(256);
+    }
+
+    public static class Prototype {
+        final StringBuilder buffer = new StringBuilder(256);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Contexts {
+        Context context;
+        ComponentRef<Formatter> threadScoped = ComponentRef.of(Formatter.class);
+        ComponentRef<Prototype> prototype = ComponentRef.of(Prototype.class);
+
+        @Setup
+        public void setUp() {
+            ContextConfig config = new ContextConfig();
+            config.bind(Formatter.class, Formatter.class);
+            config.bind(Prototype.class, Prototype.class);
+            context = config.getContext();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(1)
+    public Object threadScoped_1(Contexts state) {
+        return state.context.get(state.threadScoped);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(16)
+    public Object threadScoped_16(Contexts state) {
+        return state.context.get(state.threadScoped);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(16)
+    public Object prototype_16(Contexts state) {
+        return state.context.get(state.prototype);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void firstAccess_1000Threads(Contexts state) throws InterruptedException {
+        Thread[] threads = new Thread[1000];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> state.context.get(state.threadScoped));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
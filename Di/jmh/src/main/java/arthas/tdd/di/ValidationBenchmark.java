@@ -0,0 +1,130 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding and {@code getContext()} on a synthetic graph: {@code size} qualified bindings of the same component, each
+ * depending on the same two shared components, so validation visits {@code size + 2} nodes and {@code 2 * size}
+ * edges. {@code batches} adds the same bindings in ten batches with a {@code getContext()} after each, as plugins do.
+ * {@code chain} validates a prebuilt chain of {@code size} components, the worst case for a per-component walk; the
+ * time should grow linearly with {@code size}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+    public static class Leaf { }
+
+    public static class Middle {
+        @Inject
+        public Middle(Leaf leaf) { }
+    }
+
+    public static class Node {
+        @Inject
+        Middle middle;
+
+        @Inject
+        void install(Leaf leaf) { }
+    }
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private Name[] names;
+    private Map<Component, ComponentProvider<?>> chain;
+
+    @Setup
+    public void setUp() {
+        names = new Name[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = new Name("node-" + i);
+        }
+        chain = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            List<ComponentRef<?>> next = i + 1 < size ? List.of(ComponentRef.of(Node.class, names[i + 1])) : List.of();
+            chain.put(new Component(Node.class, names[i]), new ComponentProvider<>() {
+                @Override
+                public Object get(Context context) {
+                    return null;
+                }
+
+                @Override
+                public List<ComponentRef<?>> getDependencies() {
+                    return next;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public Context getContext() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Leaf.class, Leaf.class);
+        config.bind(Middle.class, Middle.class);
+        for (Name name : names) {
+            config.bind(Node.class, Node.class, name);
+        }
+        return config.getContext();
+    }
+
+    @Benchmark
+    public Context batches() {
+        ContextConfig config = new ContextConfig();
+        config.bind(Leaf.class, Leaf.class);
+        config.bind(Middle.class, Middle.class);
+        Context context = config.getContext();
+        for (int batch = 0; batch < 10; batch++) {
+            for (int i = batch; i < size; i += 10) {
+                config.bind(Node.class, Node.class, names[i]);
+            }
+            context = config.getContext();
+        }
+        return context;
+    }
+
+    @Benchmark
+    public Map<Component, ComponentProvider<?>> chain() {
+        DependencyGraph.check(chain);
+        return chain;
+    }
+
+    record Name(String value) implements Named {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Named.class;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named named && Objects.equals(value, named.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return "value".hashCode() * 127 ^ value.hashCode();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package arthas.tdd.di.processor;
+
+import arthas.tdd.di.processor.InjectionProcessor.Factory;
+import arthas.tdd.di.processor.InjectionProcessor.InjectionPoint;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class FactoryWriter {
+    private static final String COMPONENT_REF = "arthas.tdd.di.ComponentRef";
+
+    private final InjectionProcessor processor;
+    private final Types types;
+    private final Factory factory;
+    private final List<InjectionPoint> refs = new ArrayList<>();
+
+    FactoryWriter(InjectionProcessor processor, Types types, Factory factory) {
+        this.processor = processor;
+        this.types = types;
+        this.factory = factory;
+        refs.addAll(factory.constructor());
+        refs.addAll(factory.fieldPoints());
+        factory.methodPoints().forEach(refs::addAll);
+    }
+
+    String write(String packageName, String simpleName) {
+        String component = factory.component().getQualifiedName().toString();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(InjectionProcessor.class.getName())
+                .append("\")\n");
+        source.append("public final class ").append(simpleName).append(" implements arthas.tdd.di.ComponentProvider<")
+                .append(component).append("> {\n");
+        for (int i = 0; i < refs.size(); i++) {
+            source.append("    private final ").append(COMPONENT_REF).append('<').append(boxed(refs.get(i).type()))
+                    .append("> ref").append(i).append(";\n");
+        }
+        source.append("    private final java.util.List<").append(COMPONENT_REF).append("<?>> dependencies;\n\n");
+
+        source.append("    public ").append(simpleName).append("() throws ReflectiveOperationException {\n");
+        for (int i = 0; i < refs.size(); i++) {
+            source.append("        this.ref").append(i).append(" = ").append(ref(refs.get(i))).append(";\n");
+        }
+        source.append("        this.dependencies = java.util.List.of(").append(names(0, refs.size())).append(");\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public ").append(component).append(" get(arthas.tdd.di.Context context) {\n");
+        int next = factory.constructor().size();
+        source.append("        ").append(component).append(" instance = new ").append(component).append('(')
+                .append(resolve(0, next)).append(");\n");
+        for (VariableElement field : factory.fields()) {
+            source.append("        ").append(cast(field)).append('.').append(field.getSimpleName()).append(" = ")
+                    .append(resolve(next, next + 1)).append(";\n");
+            next++;
+        }
+        for (int i = 0; i < factory.methods().size(); i++) {
+            int count = factory.methodPoints().get(i).size();
+            source.append("        ").append(cast(factory.methods().get(i))).append('.')
+                    .append(factory.methods().get(i).getSimpleName()).append('(').append(resolve(next, next + count))
+                    .append(");\n");
+            next += count;
+        }
+        source.append("        return instance;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public java.util.List<").append(COMPONENT_REF).append("<?>> getDependencies() {\n");
+        source.append("        return dependencies;\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private String ref(InjectionPoint point) {
+        String qualifier = point.qualifier() == null ? "" : point.qualifier();
+        if (point.type() instanceof DeclaredType declared && !declared.getTypeArguments().isEmpty()) {
+            return "new " + COMPONENT_REF + "<" + point.type() + ">(" + qualifier + ") { }";
+        }
+        return COMPONENT_REF + ".of(" + processor.classLiteral(point.type())
+                + (qualifier.isEmpty() ? "" : ", " + qualifier) + ")";
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type instanceof PrimitiveType primitive) {
+            return types.boxedClass(primitive).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private String cast(Element member) {
+        return "((" + processor.rawName(member.getEnclosingElement().asType()) + ") instance)";
+    }
+
+    private static String resolve(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> "context.require(ref" + i + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String names(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "ref" + i).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,367 @@
+package arthas.tdd.di.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.util.ElementFilter.constructorsIn;
+import static javax.lang.model.util.ElementFilter.fieldsIn;
+import static javax.lang.model.util.ElementFilter.methodsIn;
+import static javax.lang.model.util.ElementFilter.typesIn;
+
+/**
+ * Generates a reflection-free {@code <Component>_Factory} for every class that declares {@code @Inject} members or a
+ * scope annotation. {@code ContextConfig} picks the factory up by name and falls back to reflective injection when a
+ * component has none, so any class this processor cannot handle is skipped with a warning instead of failing the build.
+ * <p>
+ * Every such class is also listed in the component index read by {@code ContextConfig.bindIndexed}, one line per
+ * component: binary name, comma separated qualifier types and scope type, separated by tabs.
+ */
+@SupportedAnnotationTypes("*")
+public class InjectionProcessor extends AbstractProcessor {
+    static final String INJECT = "jakarta.inject.Inject";
+    static final String QUALIFIER = "jakarta.inject.Qualifier";
+    static final String SCOPE = "jakarta.inject.Scope";
+    // 需要与 ContextConfig.FACTORY_SUFFIX 保持一致
+    static final String FACTORY_SUFFIX = "_Factory";
+    // 需要与 ContextConfig.INDEX 保持一致
+    static final String INDEX = "META-INF/arthas.tdd.di/components";
+
+    // 排序后输出，保证构建结果可重现
+    private final Set<String> index = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<TypeElement> components = new LinkedHashSet<>();
+        collect(typesIn(round.getRootElements()), components);
+        for (TypeElement component : components) {
+            if (instantiable(component)) {
+                index.add(indexEntry(component));
+            }
+            try {
+                write(component, scan(component));
+            } catch (UnsupportedComponent e) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.WARNING, "no factory generated: " + e.getMessage(), component);
+            }
+        }
+        if (round.processingOver() && !index.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private boolean instantiable(TypeElement component) {
+        return component.getNestingKind() == NestingKind.TOP_LEVEL
+                || component.getNestingKind() == NestingKind.MEMBER && component.getModifiers()
+                .contains(Modifier.STATIC);
+    }
+
+    private String indexEntry(TypeElement component) {
+        String qualifiers = metaAnnotated(component, QUALIFIER).stream()
+                .map(this::binaryNameOf)
+                .collect(Collectors.joining(","));
+        String scope = metaAnnotated(component, SCOPE).stream()
+                .map(this::binaryNameOf)
+                .collect(Collectors.joining(","));
+        return processingEnv.getElementUtils().getBinaryName(component) + "\t" + qualifiers + "\t" + scope;
+    }
+
+    private void writeIndex() {
+        try (Writer writer = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX)
+                .openWriter()) {
+            for (String entry : index) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot write " + INDEX + ": " + e);
+        }
+    }
+
+    private void collect(Iterable<TypeElement> types, Set<TypeElement> components) {
+        for (TypeElement type : types) {
+            if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+                    && (hasInjectMembers(type) || !metaAnnotated(type, SCOPE).isEmpty())) {
+                components.add(type);
+            }
+            collect(typesIn(type.getEnclosedElements()), components);
+        }
+    }
+
+    private boolean hasInjectMembers(TypeElement type) {
+        return type.getEnclosedElements().stream().anyMatch(member -> annotated(member, INJECT));
+    }
+
+    Factory scan(TypeElement component) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(component);
+        if (!component.getTypeParameters().isEmpty()) {
+            throw new UnsupportedComponent("generic component");
+        }
+        if (component.getNestingKind() == NestingKind.MEMBER && !component.getModifiers().contains(Modifier.STATIC)) {
+            throw new UnsupportedComponent("inner class");
+        }
+        if (component.getNestingKind() != NestingKind.TOP_LEVEL && component.getNestingKind() != NestingKind.MEMBER) {
+            throw new UnsupportedComponent("local or anonymous class");
+        }
+        if (!accessible(component, pkg)) {
+            throw new UnsupportedComponent("component not accessible");
+        }
+        if (metaAnnotated(component, SCOPE).size() > 1) {
+            throw new UnsupportedComponent("multiple scopes");
+        }
+
+        ExecutableElement constructor = injectConstructor(component);
+        List<InjectionPoint> constructorPoints = parameters(constructor, component, pkg);
+        List<VariableElement> fields = injectFields(component);
+        List<InjectionPoint> fieldPoints = new ArrayList<>();
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.FINAL) || field.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedComponent("final or static inject field " + field.getSimpleName());
+            }
+            checkAccessible(field, pkg);
+            TypeElement declaring = (TypeElement) field.getEnclosingElement();
+            fieldPoints.add(point(field, field.asType(), pkg,
+                    classLiteral(declaring.asType()) + ".getDeclaredField(\"" + field.getSimpleName() + "\")"));
+        }
+        List<ExecutableElement> methods = injectMethods(component);
+        List<List<InjectionPoint>> methodPoints = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            if (!method.getTypeParameters().isEmpty()) {
+                throw new UnsupportedComponent("generic inject method " + method.getSimpleName());
+            }
+            checkAccessible(method, pkg);
+            methodPoints.add(parameters(method, (TypeElement) method.getEnclosingElement(), pkg));
+        }
+        return new Factory(component, pkg, constructorPoints, fields, fieldPoints, methods, methodPoints);
+    }
+
+    private ExecutableElement injectConstructor(TypeElement component) {
+        // 与 InjectionProvider 一致：只有 public 的构造函数参与 Inject 选择
+        List<ExecutableElement> injectConstructors = constructorsIn(component.getEnclosedElements()).stream()
+                .filter(constructor -> annotated(constructor, INJECT))
+                .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+                .toList();
+        if (injectConstructors.size() > 1) {
+            throw new UnsupportedComponent("multiple inject constructors");
+        }
+        ExecutableElement constructor = injectConstructors.stream()
+                .findFirst()
+                .or(() -> constructorsIn(component.getEnclosedElements()).stream()
+                        .filter(c -> c.getParameters().isEmpty())
+                        .findFirst())
+                .orElseThrow(() -> new UnsupportedComponent("no inject nor default constructor"));
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new UnsupportedComponent("private constructor");
+        }
+        return constructor;
+    }
+
+    private List<VariableElement> injectFields(TypeElement component) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement current = component; current != null; current = superclass(current)) {
+            fieldsIn(current.getEnclosedElements()).stream().filter(field -> annotated(field, INJECT)).forEach(fields::add);
+        }
+        return fields;
+    }
+
+    private List<ExecutableElement> injectMethods(TypeElement component) {
+        List<ExecutableElement> componentNoInject = methodsIn(component.getEnclosedElements()).stream()
+                .filter(method -> !annotated(method, INJECT))
+                .toList();
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (TypeElement current = component; current != null; current = superclass(current)) {
+            List<ExecutableElement> declared = methodsIn(current.getEnclosedElements()).stream()
+                    .filter(method -> annotated(method, INJECT))
+                    .filter(method -> methods.stream().noneMatch(o -> sameSignature(method, o)))
+                    .filter(method -> componentNoInject.stream().noneMatch(o -> sameSignature(method, o)))
+                    .toList();
+            methods.addAll(declared);
+        }
+        Collections.reverse(methods);
+        return methods;
+    }
+
+    private boolean sameSignature(ExecutableElement method, ExecutableElement other) {
+        if (!method.getSimpleName().equals(other.getSimpleName())
+                || method.getParameters().size() != other.getParameters().size()) {
+            return false;
+        }
+        for (int i = 0; i < method.getParameters().size(); i++) {
+            if (!processingEnv.getTypeUtils()
+                    .isSameType(erasure(method.getParameters().get(i).asType()),
+                            erasure(other.getParameters().get(i).asType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private List<InjectionPoint> parameters(ExecutableElement executable, TypeElement declaring, PackageElement pkg) {
+        String parameterTypes = executable.getParameters().stream()
+                .map(parameter -> ", " + classLiteral(parameter.asType()))
+                .collect(Collectors.joining());
+        String lookup = executable.getKind() == ElementKind.CONSTRUCTOR
+                ? classLiteral(declaring.asType()) + ".getDeclaredConstructor(" + trimComma(parameterTypes) + ")"
+                : classLiteral(declaring.asType()) + ".getDeclaredMethod(\"" + executable.getSimpleName() + "\""
+                        + parameterTypes + ")";
+        List<InjectionPoint> points = new ArrayList<>();
+        for (int i = 0; i < executable.getParameters().size(); i++) {
+            VariableElement parameter = executable.getParameters().get(i);
+            points.add(point(parameter, parameter.asType(), pkg, lookup + ".getParameters()[" + i + "]"));
+        }
+        return points;
+    }
+
+    private InjectionPoint point(Element element, TypeMirror type, PackageElement pkg, String lookup) {
+        List<AnnotationMirror> qualifiers = metaAnnotated(element, QUALIFIER);
+        if (qualifiers.size() > 1) {
+            throw new UnsupportedComponent("multiple qualifiers on " + element.getSimpleName());
+        }
+        checkAccessible(type, pkg);
+        String qualifier = qualifiers.stream()
+                .findFirst()
+                .map(mirror -> lookup + ".getAnnotation(" + classLiteral(mirror.getAnnotationType()) + ")")
+                .orElse(null);
+        return new InjectionPoint(type, qualifier);
+    }
+
+    private void checkAccessible(Element member, PackageElement pkg) {
+        if (member.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new UnsupportedComponent("private member " + member.getSimpleName());
+        }
+        PackageElement memberPackage = processingEnv.getElementUtils().getPackageOf(member);
+        if (!memberPackage.equals(pkg) && !(member.getModifiers().contains(Modifier.PUBLIC)
+                && accessible((TypeElement) member.getEnclosingElement(), pkg))) {
+            throw new UnsupportedComponent("member " + member.getSimpleName() + " not accessible");
+        }
+    }
+
+    private void checkAccessible(TypeMirror type, PackageElement pkg) {
+        if (type.getKind().isPrimitive()) {
+            return;
+        }
+        if (type instanceof ArrayType array) {
+            checkAccessible(array.getComponentType(), pkg);
+            return;
+        }
+        if (!(type instanceof DeclaredType declared) || !accessible((TypeElement) declared.asElement(), pkg)) {
+            throw new UnsupportedComponent("dependency type " + type + " not supported");
+        }
+        declared.getTypeArguments().forEach(argument -> checkAccessible(argument, pkg));
+    }
+
+    private boolean accessible(TypeElement type, PackageElement pkg) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!processingEnv.getElementUtils().getPackageOf(current).equals(pkg)
+                    && !current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean annotated(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream().anyMatch(mirror -> nameOf(mirror).equals(annotation));
+    }
+
+    private static List<AnnotationMirror> metaAnnotated(Element element, String meta) {
+        return element.getAnnotationMirrors().stream()
+                .filter(mirror -> annotated(mirror.getAnnotationType().asElement(), meta))
+                .collect(Collectors.toList());
+    }
+
+    private static String nameOf(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private String binaryNameOf(AnnotationMirror mirror) {
+        return processingEnv.getElementUtils()
+                .getBinaryName((TypeElement) mirror.getAnnotationType().asElement())
+                .toString();
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    String rawName(TypeMirror type) {
+        return erasure(type).toString();
+    }
+
+    String classLiteral(TypeMirror type) {
+        return rawName(type) + ".class";
+    }
+
+    private static String trimComma(String parameterTypes) {
+        return parameterTypes.isEmpty() ? parameterTypes : parameterTypes.substring(2);
+    }
+
+    private void write(TypeElement component, Factory factory) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(component).toString();
+        String packageName = factory.pkg().getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + FACTORY_SUFFIX;
+        String name = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, component).openWriter()) {
+            writer.write(new FactoryWriter(this, processingEnv.getTypeUtils(), factory).write(packageName, simpleName));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), component);
+        }
+    }
+
+    record InjectionPoint(TypeMirror type, String qualifier) { }
+
+    record Factory(TypeElement component, PackageElement pkg, List<InjectionPoint> constructor,
+                   List<VariableElement> fields, List<InjectionPoint> fieldPoints, List<ExecutableElement> methods,
+                   List<List<InjectionPoint>> methodPoints) { }
+
+    static class UnsupportedComponent extends RuntimeException {
+        UnsupportedComponent(String message) {
+            super(message);
+        }
+    }
+}
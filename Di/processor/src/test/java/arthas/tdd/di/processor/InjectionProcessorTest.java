@@ -0,0 +1,195 @@
+package arthas.tdd.di.processor;
+
+import arthas.tdd.di.ComponentRef;
+import arthas.tdd.di.Context;
+import arthas.tdd.di.ContextConfig;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionProcessorTest {
+    @TempDir
+    Path root;
+    private Path sources;
+    private Path classes;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sources = Files.createDirectories(root.resolve("src/sample"));
+        classes = Files.createDirectories(root.resolve("classes"));
+        diagnostics = new DiagnosticCollector<>();
+        Files.writeString(sources.resolve("Engine.java"), """
+                package sample;
+                public interface Engine { }
+                """);
+    }
+
+    @Test
+    void should_generate_factory_with_constructor_field_and_method_injection() throws Exception {
+        Files.writeString(sources.resolve("Car.java"), """
+                package sample;
+                import jakarta.inject.*;
+                public class Car {
+                    final Engine engine;
+                    @Inject @Named("front") Provider<Engine> front;
+                    Engine spare;
+                    @Inject
+                    public Car(Engine engine) { this.engine = engine; }
+                    @Inject
+                    void install(@Named("spare") Engine spare) { this.spare = spare; }
+                }
+                """);
+        ClassLoader loader = compile();
+        Class<?> car = loader.loadClass("sample.Car");
+        Class<Object> engine = (Class<Object>) loader.loadClass("sample.Engine");
+        assertNotNull(loader.loadClass("sample.Car_Factory"));
+
+        Object main = proxy(engine), front = proxy(engine), spare = proxy(engine);
+        ContextConfig config = new ContextConfig();
+        config.bind(engine, main);
+        config.bind(engine, front, car.getDeclaredField("front").getAnnotation(Named.class));
+        config.bind(engine, spare, car.getDeclaredMethod("install", engine).getParameters()[0].getAnnotation(Named.class));
+        bind(config, car);
+        Context context = config.getContext();
+
+        Object instance = context.get(ComponentRef.of(car)).get();
+        assertSame(main, field(car, "engine", instance));
+        assertSame(front, ((Provider<?>) field(car, "front", instance)).get());
+        assertSame(spare, field(car, "spare", instance));
+    }
+
+    @Test
+    void should_call_superclass_inject_method_before_subclass_unless_overridden() throws Exception {
+        Files.writeString(sources.resolve("Base.java"), """
+                package sample;
+                import jakarta.inject.Inject;
+                public class Base {
+                    public StringBuilder calls = new StringBuilder();
+                    @Inject void first() { calls.append("base-first;"); }
+                    @Inject void second() { calls.append("base-second;"); }
+                }
+                """);
+        Files.writeString(sources.resolve("Sub.java"), """
+                package sample;
+                import jakarta.inject.Inject;
+                public class Sub extends Base {
+                    @Inject void third() { calls.append("sub-third;"); }
+                    void second() { }
+                }
+                """);
+        ClassLoader loader = compile();
+        Class<?> sub = loader.loadClass("sample.Sub");
+        assertNotNull(loader.loadClass("sample.Sub_Factory"));
+
+        ContextConfig config = new ContextConfig();
+        bind(config, sub);
+        Object instance = config.getContext().get(ComponentRef.of(sub)).get();
+
+        assertEquals("base-first;sub-third;", field(sub.getSuperclass(), "calls", instance).toString());
+    }
+
+    @Test
+    void should_skip_component_with_private_inject_member() throws Exception {
+        Files.writeString(sources.resolve("Hidden.java"), """
+                package sample;
+                import jakarta.inject.Inject;
+                public class Hidden {
+                    @Inject private Engine engine;
+                }
+                """);
+        ClassLoader loader = compile();
+
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass("sample.Hidden_Factory"));
+        assertTrue(diagnostics.getDiagnostics()
+                .stream()
+                .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING));
+    }
+
+    @Test
+    void should_index_components_with_qualifiers_and_scope() throws Exception {
+        Files.writeString(sources.resolve("V8.java"), """
+                package sample;
+                import jakarta.inject.*;
+                @Singleton @Named("v8")
+                public class V8 implements Engine {
+                    @Inject public V8() { }
+                }
+                """);
+        Files.writeString(sources.resolve("Garage.java"), """
+                package sample;
+                import jakarta.inject.*;
+                public class Garage {
+                    @Inject @Named("v8") V8 engine;
+                }
+                """);
+        ClassLoader loader = compile();
+        Class<?> v8 = loader.loadClass("sample.V8");
+        Class<?> garage = loader.loadClass("sample.Garage");
+
+        assertEquals(List.of("sample.Garage\t\t", "sample.V8\tjakarta.inject.Named\tjakarta.inject.Singleton"),
+                Files.readAllLines(classes.resolve(InjectionProcessor.INDEX)));
+
+        ContextConfig config = new ContextConfig();
+        config.bindIndexed(loader);
+        Context context = config.getContext();
+        Object instance = context.get(ComponentRef.of(garage)).get();
+        assertSame(context.get(ComponentRef.of(v8, v8.getAnnotation(Named.class))).get(),
+                field(garage, "engine", instance));
+    }
+
+    private ClassLoader compile() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<File> inputs;
+            try (var paths = Files.list(sources)) {
+                inputs = paths.map(Path::toFile).toList();
+            }
+            String classpath = location(Inject.class) + File.pathSeparator + location(ContextConfig.class);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    List.of("-classpath", classpath, "-d", classes.toString(), "-s", classes.toString()), null,
+                    files.getJavaFileObjectsFromFiles(inputs));
+            task.setProcessors(List.of(new InjectionProcessor()));
+            assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+        return new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static <T> void bind(ContextConfig config, Class<T> component) {
+        config.bind(component, component);
+    }
+
+    private static String location(Class<?> type) throws URISyntaxException {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static Object proxy(Class<?> type) {
+        return java.lang.reflect.Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                (proxy, method, args) -> method.getName().equals("equals") ? proxy == args[0] : null);
+    }
+
+    private static Object field(Class<?> type, String name, Object instance) throws ReflectiveOperationException {
+        var field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+}
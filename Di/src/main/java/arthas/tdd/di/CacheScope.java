@@ -0,0 +1,112 @@
+package arthas.tdd.di;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one instance per binding until it has lived for the time to live, then keeps returning it while a new one is
+ * built on the refresh executor; if building it fails, the old instance is kept for another time to live. At most
+ * {@code maxSize} bindings hold an instance at a time; creating one more evicts the least recently used. With soft
+ * values the garbage collector may also drop instances under memory pressure; the next lookup then builds a new one.
+ */
+public class CacheScope implements ScopeProvider {
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder refreshFailures = new LongAdder();
+    final long ttl;
+    final boolean softValues;
+    final Executor refresher;
+    final LongSupplier ticker;
+    private final int maxSize;
+    // 弱引用：重新绑定或丢弃 Context 之后，不再使用的缓存不再计入大小，也不参与淘汰
+    private final Set<CachedInjectionProvider<?>> caches = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public CacheScope(Duration ttl, int maxSize) {
+        this(ttl, maxSize, false, ForkJoinPool.commonPool());
+    }
+
+    public CacheScope(Duration ttl, int maxSize, boolean softValues, Executor refresher) {
+        this(ttl, maxSize, softValues, refresher, System::nanoTime);
+    }
+
+    CacheScope(Duration ttl, int maxSize, boolean softValues, Executor refresher, LongSupplier ticker) {
+        if (ttl.isNegative() || maxSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.ttl = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.softValues = softValues;
+        this.refresher = refresher;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public ComponentProvider<?> create(ComponentProvider<?> provider) {
+        CachedInjectionProvider<?> cache = new CachedInjectionProvider<>(this, provider);
+        synchronized (caches) {
+            caches.add(cache);
+        }
+        return cache;
+    }
+
+    // 只在创建新实例时调用，线性查找最久未用的缓存即可
+    synchronized void admit(CachedInjectionProvider<?> admitted) {
+        while (size() > maxSize) {
+            CachedInjectionProvider<?> eldest = null;
+            for (CachedInjectionProvider<?> cache : caches()) {
+                if (cache != admitted && cache.isCached()
+                        && (eldest == null || cache.lastAccess() - eldest.lastAccess() < 0)) {
+                    eldest = cache;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            eldest.evict();
+            evictions.increment();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Instances dropped to respect the maximum size or released by the garbage collector.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Background refreshes whose provider threw; the old instance was kept.
+     */
+    public long refreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    /**
+     * Bindings currently holding an instance.
+     */
+    public int size() {
+        return (int) caches().stream().filter(CachedInjectionProvider::isCached).count();
+    }
+
+    private List<CachedInjectionProvider<?>> caches() {
+        synchronized (caches) {
+            return List.copyOf(caches);
+        }
+    }
+}
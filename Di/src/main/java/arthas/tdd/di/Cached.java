@@ -0,0 +1,17 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * A component rebuilt from time to time, such as a configuration snapshot. Not registered by default: register a
+ * {@link CacheScope} for it with {@link ContextConfig#scope(Class, ScopeProvider)} to choose expiry and size.
+ */
+@Scope
+@Documented
+@Retention(RUNTIME)
+public @interface Cached { }
@@ -0,0 +1,119 @@
+package arthas.tdd.di;
+
+import java.lang.ref.SoftReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class CachedInjectionProvider<T> implements ComponentProvider<T> {
+    private final CacheScope scope;
+    private final ComponentProvider<T> provider;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Entry<T> entry;
+    private volatile long lastAccess;
+
+    public CachedInjectionProvider(CacheScope scope, ComponentProvider<T> provider) {
+        this.scope = scope;
+        this.provider = provider;
+    }
+
+    @Override
+    public T get(Context context) {
+        long now = scope.ticker.getAsLong();
+        Entry<T> current = entry;
+        T instance = current == null ? null : current.get();
+        if (instance == null) {
+            return load(context, now);
+        }
+        scope.hits.increment();
+        lastAccess = now;
+        // 过期后仍返回旧实例，由 refresher 在后台重建，调用方不等待
+        if (now - current.expiresAt >= 0 && refreshing.compareAndSet(false, true)) {
+            try {
+                Context compiled = CompiledContext.compiledOf(context);
+                scope.refresher.execute(() -> refresh(compiled));
+            } catch (RuntimeException e) {
+                refreshing.set(false);
+                throw e;
+            }
+        }
+        return instance;
+    }
+
+    private T load(Context context, long now) {
+        T instance;
+        synchronized (this) {
+            Entry<T> current = entry;
+            instance = current == null ? null : current.get();
+            if (instance != null) {
+                scope.hits.increment();
+                return instance;
+            }
+            if (current != null) {
+                // 软引用已被 GC 回收
+                scope.evictions.increment();
+            }
+            scope.misses.increment();
+            instance = provider.get(context);
+            entry = new Entry<>(instance, now + scope.ttl, scope.softValues);
+            lastAccess = now;
+        }
+        // 在锁外淘汰其他缓存，避免两个缓存互相等待
+        scope.admit(this);
+        return instance;
+    }
+
+    // 重建失败时保留旧实例再用一个 TTL，避免每次访问都立即重试
+    private void refresh(Context context) {
+        T instance = null;
+        try {
+            instance = provider.get(context);
+        } catch (RuntimeException e) {
+            scope.refreshFailures.increment();
+        }
+        try {
+            synchronized (this) {
+                Entry<T> current = entry;
+                T refreshed = instance != null ? instance : current == null ? null : current.get();
+                if (refreshed != null) {
+                    entry = new Entry<>(refreshed, scope.ticker.getAsLong() + scope.ttl, scope.softValues);
+                }
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    boolean isCached() {
+        Entry<T> current = entry;
+        return current != null && current.get() != null;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    synchronized void evict() {
+        entry = null;
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+
+    private static final class Entry<T> {
+        private final T strong;
+        private final SoftReference<T> soft;
+        final long expiresAt;
+
+        Entry(T instance, long expiresAt, boolean softValues) {
+            this.strong = softValues ? null : instance;
+            this.soft = softValues ? new SoftReference<>(instance) : null;
+            this.expiresAt = expiresAt;
+        }
+
+        T get() {
+            return soft == null ? strong : soft.get();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Provider;
+import jakarta.inject.Qualifier;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A context that holds a few bindings of its own on top of an already built parent. Unscoped components of the parent
+ * are created with the child as their context, so they are injected with its instances; singletons and other scoped
+ * components stay in the parent and keep resolving their dependencies there. Nothing of the parent is copied, and only
+ * the child's own class bindings are validated, once, on the first lookup. Bind everything before the child is shared
+ * with other threads.
+ */
+public final class ChildContext implements Context {
+    private static final ComponentProvider<?> RESOLVED = context -> null;
+
+    private final Context parent;
+    // 父 Context 由 ContextConfig 构建时，才能找到它的原型组件并以子 Context 创建
+    private final CompiledContext compiled;
+    // 本地绑定通常只有几个，线性查找比哈希表更快；实例绑定的 provider 为 null
+    private Component[] components = new Component[4];
+    private Object[] instances = new Object[4];
+    private ComponentProvider<?>[] providers = new ComponentProvider<?>[4];
+    private int size;
+    private boolean checked = true;
+
+    public ChildContext(Context parent) {
+        this.parent = parent;
+        this.compiled = parent instanceof CompiledContext context ? context : null;
+    }
+
+    public <Type> ChildContext bind(Class<Type> type, Type instance) {
+        put(new Component(type, null), instance, null);
+        return this;
+    }
+
+    public <Type> ChildContext bind(Class<Type> type, Type instance, Annotation... qualifiers) {
+        checkQualifiers(qualifiers);
+        for (Annotation qualifier : qualifiers) {
+            put(new Component(type, qualifier), instance, null);
+        }
+        return this;
+    }
+
+    /**
+     * Binds an unscoped component created by the child on every lookup. Its dependencies are resolved in the child, so
+     * the parent must be a context built by {@link ContextConfig} or another child.
+     */
+    public <Type, Implementation extends Type> ChildContext bind(Class<Type> type, Class<Implementation> implementation) {
+        return bind(type, implementation, new Annotation[0]);
+    }
+
+    public <Type, Implementation extends Type> ChildContext bind(Class<Type> type, Class<Implementation> implementation,
+            Annotation... qualifiers) {
+        checkQualifiers(qualifiers);
+        if ((compiled == null && !(parent instanceof ChildContext))
+                || !ComponentMetadata.scopesOf(implementation).isEmpty()) {
+            throw new IllegalComponentException();
+        }
+        ComponentProvider<?> provider = ContextConfig.injectionProviderOf(implementation);
+        if (qualifiers.length == 0) {
+            put(new Component(type, null), null, provider);
+        }
+        for (Annotation qualifier : qualifiers) {
+            put(new Component(type, qualifier), null, provider);
+        }
+        checked = false;
+        return this;
+    }
+
+    private static void checkQualifiers(Annotation[] qualifiers) {
+        for (Annotation qualifier : qualifiers) {
+            if (!qualifier.annotationType().isAnnotationPresent(Qualifier.class)) {
+                throw new IllegalComponentException();
+            }
+        }
+    }
+
+    private void put(Component component, Object instance, ComponentProvider<?> provider) {
+        int index = indexOf(component);
+        if (index < 0) {
+            if (size == components.length) {
+                components = Arrays.copyOf(components, size * 2);
+                instances = Arrays.copyOf(instances, size * 2);
+                providers = Arrays.copyOf(providers, size * 2);
+            }
+            index = size++;
+            components[index] = component;
+        }
+        instances[index] = instance;
+        providers[index] = provider;
+    }
+
+    @Override
+    public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref) {
+        if (!checked) {
+            check();
+        }
+        // 本地绑定不加入父 Context 的集合注入
+        if (ref.isCollection()) {
+            return parent.get(ref);
+        }
+        int index = indexOf(ref.component());
+        int slot = index < 0 ? prototypeOf(ref) : -1;
+        if (index < 0 && slot < 0) {
+            return parent.get(ref);
+        }
+        if (ref.isContainer()) {
+            if (ref.getContainerType() != Provider.class) {
+                return Optional.empty();
+            }
+            return Optional.of((ComponentType) (Provider<Object>) () -> create(index, slot));
+        }
+        return Optional.ofNullable((ComponentType) create(index, slot));
+    }
+
+    @Override
+    public <ComponentType> ComponentType require(ComponentRef<ComponentType> ref) {
+        if (!checked) {
+            check();
+        }
+        if (ref.isCollection() || indexOf(ref.component()) < 0 && prototypeOf(ref) < 0) {
+            return parent.require(ref);
+        }
+        return get(ref).orElseThrow();
+    }
+
+    @Override
+    public <ComponentType> CompletableFuture<Optional<ComponentType>> getAsync(ComponentRef<ComponentType> ref,
+            Executor executor) {
+        if (!checked) {
+            check();
+        }
+        if (ref.isCollection() || indexOf(ref.component()) < 0 && prototypeOf(ref) < 0) {
+            return parent.getAsync(ref, executor);
+        }
+        return CompletableFuture.completedFuture(get(ref));
+    }
+
+    @Override
+    public <ComponentType> void release(ComponentRef<ComponentType> ref, ComponentType instance) {
+        if (indexOf(ref.component()) < 0) {
+            parent.release(ref, instance);
+        }
+    }
+
+    private Object create(int index, int slot) {
+        if (index < 0) {
+            return compiled.create(slot, this);
+        }
+        if (providers[index] == null) {
+            return instances[index];
+        }
+        return ComponentCreationEvent.record(components[index].type(), components[index].qualifier(), "Prototype",
+                providers[index], this);
+    }
+
+    // 父 Context 中以子 Context 创建的组件：没有作用域的类绑定
+    private int prototypeOf(ComponentRef<?> ref) {
+        if (compiled == null || ref.isContainer() && ref.getContainerType() != Provider.class) {
+            return -1;
+        }
+        int slot = compiled.slotOf(ref);
+        return slot >= 0 && compiled.isPrototype(slot) ? slot : -1;
+    }
+
+    // 父 Context 已经验证过；只有本地类绑定，以及经由子 Context 创建的父原型，可能因为本地绑定缺少依赖或成环
+    private void check() {
+        Map<Component, ComponentProvider<?>> graph = new HashMap<>();
+        List<Component> roots = new ArrayList<>();
+        Deque<Component> pending = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (providers[i] != null) {
+                roots.add(components[i]);
+                pending.push(components[i]);
+            }
+        }
+        while (!pending.isEmpty()) {
+            Component component = pending.pop();
+            ComponentProvider<?> provider = graph.containsKey(component) ? null : providerOf(component);
+            if (provider != null) {
+                graph.put(component, provider);
+                for (ComponentRef<?> dependency : provider.getDependencies()) {
+                    if (!dependency.isCollection()) {
+                        pending.push(dependency.component());
+                    }
+                }
+            }
+        }
+        DependencyGraph.check(graph, roots);
+        checked = true;
+    }
+
+    // 在子 Context 中解析时组件的依赖；实例和在父 Context 中解析的组件当作没有依赖，找不到时返回 null
+    private ComponentProvider<?> providerOf(Component component) {
+        int index = indexOf(component);
+        if (index >= 0) {
+            return providers[index] != null ? providers[index] : RESOLVED;
+        }
+        if (compiled == null) {
+            return ((ChildContext) parent).contains(component) ? RESOLVED : null;
+        }
+        int slot = compiled.slotOf(component);
+        if (slot < 0) {
+            return null;
+        }
+        return compiled.isPrototype(slot) ? compiled.providerOf(slot) : RESOLVED;
+    }
+
+    boolean contains(Component component) {
+        return providerOf(component) != null;
+    }
+
+    private int indexOf(Component component) {
+        for (int i = 0; i < size; i++) {
+            if (components[i].equals(component)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,239 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Provider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The context returned by {@link ContextConfig#getContext()}. Everything it reads is copied at construction and never
+ * changes, so it can be shared between threads and later bindings on the config do not affect it.
+ */
+class CompiledContext implements Context {
+    private final Object owner;
+    private final ComponentTable slots;
+    private final ComponentProvider<?>[] providers;
+    private final Component[] components;
+    private final String[] scopes;
+    // 每个组件只有一个 Provider 包装，注入 Provider<T> 时不再重复分配
+    private final Optional<Provider<Object>>[] containers;
+    private final Map<Class<?>, Multibinding> multibindings = new HashMap<>();
+    private final Map<Integer, CompletableFuture<Object>> singletons = new ConcurrentHashMap<>();
+    private final StartupProfile profile;
+
+    CompiledContext(Object owner, Map<Component, Integer> slots, ComponentProvider<?>[] providers, String[] scopes,
+            boolean[] shared, StartupProfile profile) {
+        this.owner = owner;
+        this.profile = profile;
+        this.slots = new ComponentTable(slots);
+        this.providers = providers;
+        this.scopes = scopes;
+        this.components = new Component[providers.length];
+        slots.forEach((component, slot) -> components[slot] = component);
+        this.containers = new Optional[providers.length];
+        for (int i = 0; i < providers.length; i++) {
+            int slot = i;
+            containers[i] = Optional.of(() -> create(slot));
+        }
+        Map<Class<?>, List<Integer>> types = new HashMap<>();
+        for (int i = 0; i < components.length; i++) {
+            types.computeIfAbsent(components[i].type(), type -> new ArrayList<>()).add(i);
+        }
+        types.forEach((type, members) -> {
+            int[] memberSlots = members.stream().mapToInt(Integer::intValue).toArray();
+            boolean allShared = members.stream().allMatch(slot -> shared[slot]);
+            multibindings.put(type, new Multibinding(memberSlots, allShared));
+        });
+    }
+
+    @Override
+    public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref) {
+        if (ref.isCollection()) {
+            return Optional.of((ComponentType) collect(ref));
+        }
+        if (ref.isContainer()) {
+            if (ref.getContainerType() != Provider.class) {
+                return Optional.empty();
+            }
+            int slot = slotOf(ref);
+            return slot < 0 ? Optional.empty() : (Optional<ComponentType>) (Optional<?>) containers[slot];
+        }
+        int slot = slotOf(ref);
+        return slot < 0 ? Optional.empty() : Optional.ofNullable((ComponentType) create(slot));
+    }
+
+    @Override
+    public <ComponentType> void release(ComponentRef<ComponentType> ref, ComponentType instance) {
+        int slot = slotOf(ref);
+        if (!ref.isContainer() && slot >= 0 && providers[slot] instanceof PooledInjectionProvider<?> pool) {
+            ((PooledInjectionProvider<ComponentType>) pool).release(instance);
+        }
+    }
+
+    @Override
+    public <ComponentType> CompletableFuture<Optional<ComponentType>> getAsync(ComponentRef<ComponentType> ref,
+            Executor executor) {
+        int slot = ref.isContainer() ? -1 : slotOf(ref);
+        if (slot < 0) {
+            return CompletableFuture.completedFuture(get(ref));
+        }
+        return createAsync(slot, executor).thenApply(instance -> Optional.ofNullable((ComponentType) instance));
+    }
+
+    // 正在异步创建或已经创建的单例，保证并发的 getAsync 只解析一次依赖
+    private CompletableFuture<Object> createAsync(int slot, Executor executor) {
+        if (providers[slot] instanceof InjectionProvider<?>) {
+            return constructAsync(slot, executor);
+        }
+        // 其他作用域可能用不到依赖（池和缓存命中、延迟代理），线程作用域还必须在调用线程上取实例
+        if (!(providers[slot] instanceof SingletonInjectionProvider<?> singleton && singleton.constructs())) {
+            return createNow(slot);
+        }
+        if (singleton.isCreated()) {
+            return CompletableFuture.completedFuture(create(slot));
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = singletons.putIfAbsent(slot, future);
+        if (existing != null) {
+            return existing;
+        }
+        constructAsync(slot, executor).whenComplete((instance, failure) -> {
+            if (failure != null) {
+                singletons.remove(slot, future);
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(instance);
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<Object> createNow(int slot) {
+        try {
+            return CompletableFuture.completedFuture(create(slot));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 直接依赖并发创建，全部完成后再在 executor 上调用构造函数；Provider 和集合仍在创建时同步解析
+    private CompletableFuture<Object> constructAsync(int slot, Executor executor) {
+        List<ComponentRef<?>> dependencies = providers[slot].getDependencies();
+        List<ComponentRef<?>> refs = new ArrayList<>(dependencies.size());
+        List<CompletableFuture<Object>> futures = new ArrayList<>(dependencies.size());
+        for (ComponentRef<?> dependency : dependencies) {
+            int dependencySlot = dependency.isContainer() ? -1 : slotOf(dependency);
+            if (dependencySlot >= 0) {
+                refs.add(dependency);
+                futures.add(createAsync(dependencySlot, executor));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApplyAsync(ignored -> {
+            Map<ComponentRef<?>, Object> resolved = new IdentityHashMap<>(refs.size() * 2);
+            for (int i = 0; i < refs.size(); i++) {
+                resolved.put(refs.get(i), futures.get(i).join());
+            }
+            return create(slot, new Resolved(this, resolved));
+        }, executor);
+    }
+
+    // 异步解析时 Provider 拿到的是带着已解析依赖的临时 Context，在后台重建实例时应回到编译后的 Context
+    static Context compiledOf(Context context) {
+        return context instanceof Resolved resolved ? resolved.context() : context;
+    }
+
+    private record Resolved(Context context, Map<ComponentRef<?>, Object> resolved) implements Context {
+        @Override
+        public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref) {
+            Object instance = resolved.get(ref);
+            if (instance != null || resolved.containsKey(ref)) {
+                return Optional.ofNullable((ComponentType) instance);
+            }
+            return context.get(ref);
+        }
+
+        @Override
+        public <ComponentType> ComponentType require(ComponentRef<ComponentType> ref) {
+            Object instance = resolved.get(ref);
+            return instance != null ? (ComponentType) instance : context.require(ref);
+        }
+    }
+
+    @Override
+    public <ComponentType> ComponentType require(ComponentRef<ComponentType> ref) {
+        if (ref.isCollection()) {
+            return (ComponentType) collect(ref);
+        }
+        int slot = slotOf(ref);
+        if (slot < 0 || ref.isContainer() && ref.getContainerType() != Provider.class) {
+            throw new NoSuchElementException();
+        }
+        return (ComponentType) (ref.isContainer() ? containers[slot].get() : create(slot));
+    }
+
+    private Object collect(ComponentRef<?> ref) {
+        Component component = ref.component();
+        if (component.qualifier() == null) {
+            return multibindings.getOrDefault(component.type(), Multibinding.EMPTY).collect(this, ref.getContainerType());
+        }
+        int slot = slots.get(component);
+        return (slot < 0 ? Multibinding.EMPTY : new Multibinding(new int[]{slot}, false))
+                .collect(this, ref.getContainerType());
+    }
+
+    Object create(int slot) {
+        return create(slot, this);
+    }
+
+    // 预先创建单例时按组件分发，与按需解析走同一条路径
+    Object create(Component component) {
+        return create(slots.get(component));
+    }
+
+    // 子 Context 以自身为依赖来源创建父 Context 的原型
+    Object create(int slot, Context context) {
+        if (profile == null) {
+            return record(slot, context);
+        }
+        profile.enter(components[slot],
+                providers[slot] instanceof SingletonInjectionProvider<?> singleton && singleton.isCreated());
+        try {
+            return record(slot, context);
+        } finally {
+            profile.exit();
+        }
+    }
+
+    private Object record(int slot, Context context) {
+        return ComponentCreationEvent.record(components[slot].type(), components[slot].qualifier(), scopes[slot],
+                providers[slot], context);
+    }
+
+    boolean isPrototype(int slot) {
+        return "Prototype".equals(scopes[slot]);
+    }
+
+    ComponentProvider<?> providerOf(int slot) {
+        return providers[slot];
+    }
+
+    int slotOf(Component component) {
+        return slots.get(component);
+    }
+
+    int slotOf(ComponentRef<?> ref) {
+        int slot = ref.slotIn(owner);
+        if (slot >= 0 && slot < providers.length) {
+            return slot;
+        }
+        return slots.get(ref.component());
+    }
+}
@@ -2,4 +2,19 @@ package arthas.tdd.di;
 
 import java.lang.annotation.Annotation;
 
-public record Component(Class<?> type, Annotation qualifier) { }
+public record Component(Class<?> type, Annotation qualifier) {
+    public Component {
+        qualifier = Qualifiers.canonical(qualifier);
+    }
+
+    // qualifier 已经规范化，按引用比较即可，避免注解代理的反射调用
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Component that && type == that.type && qualifier == that.qualifier;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + System.identityHashCode(qualifier);
+    }
+}
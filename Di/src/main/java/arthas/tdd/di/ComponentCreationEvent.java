@@ -0,0 +1,58 @@
+package arthas.tdd.di;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.lang.annotation.Annotation;
+
+@Name("arthas.tdd.di.ComponentCreation")
+@Label("Component Creation")
+@Description("A component resolved through a context, including the time spent on its own dependencies")
+@Category("Dependency Injection")
+@StackTrace(false)
+class ComponentCreationEvent extends Event {
+    // 仅在录制时使用
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Label("Component Type")
+    Class<?> componentType;
+
+    @Label("Qualifier")
+    String qualifier;
+
+    @Label("Scope")
+    String scope;
+
+    @Label("Depth")
+    @Description("Number of enclosing component creations on the same thread")
+    int depth;
+
+    @Label("Singleton Cache Hit")
+    boolean cacheHit;
+
+    static Object record(Class<?> type, Annotation qualifier, String scope, ComponentProvider<?> provider,
+            Context context) {
+        ComponentCreationEvent event = new ComponentCreationEvent();
+        if (!event.isEnabled()) {
+            return provider.get(context);
+        }
+        int[] depth = DEPTH.get();
+        event.componentType = type;
+        event.qualifier = qualifier == null ? null : qualifier.toString();
+        event.scope = scope;
+        event.depth = depth[0];
+        event.cacheHit = provider instanceof SingletonInjectionProvider<?> singleton && singleton.isCreated();
+        event.begin();
+        depth[0]++;
+        try {
+            return provider.get(context);
+        } finally {
+            depth[0]--;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package arthas.tdd.di;
+
+import arthas.tdd.di.InjectionProvider.Injectable;
+import jakarta.inject.Inject;
+import jakarta.inject.Scope;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Injection points and compiled member handles of a component class. The scan runs once per class and is shared by
+ * every {@link InjectionProvider} of that class in any {@link ContextConfig}; {@link ClassValue} keeps the entry only
+ * as long as the class itself is reachable.
+ */
+final class ComponentMetadata<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INVOKER = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final ClassValue<ComponentMetadata<?>> INJECTIONS = new ClassValue<>() {
+        @Override
+        protected ComponentMetadata<?> computeValue(Class<?> type) {
+            misses.increment();
+            return new ComponentMetadata<>(type);
+        }
+    };
+    private static final ClassValue<List<Annotation>> SCOPES = new ClassValue<>() {
+        @Override
+        protected List<Annotation> computeValue(Class<?> type) {
+            return stream(type.getAnnotations())
+                    .filter(annotation -> annotation.annotationType().isAnnotationPresent(Scope.class))
+                    .toList();
+        }
+    };
+
+    // 处理器是可选的，多数类没有生成的工厂；按类记住查找结果，避免每次绑定都抛出 ClassNotFoundException
+    private static final ClassValue<Optional<Constructor<?>>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+            Class<?> factory;
+            try {
+                factory = Class.forName(type.getName() + ContextConfig.FACTORY_SUFFIX, true, type.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            }
+            if (!ComponentProvider.class.isAssignableFrom(factory)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(factory.getDeclaredConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new IllegalComponentException();
+            }
+        }
+    };
+
+    final Injectable<Constructor<T>> constructor;
+    final List<Injectable<Field>> fields;
+    final List<Injectable<Method>> methods;
+    final MethodHandle constructorHandle;
+    final MethodHandle[] fieldSetters;
+    final MethodHandle[] methodInvokers;
+
+    static <T> ComponentMetadata<T> of(Class<T> component) {
+        lookups.increment();
+        return (ComponentMetadata<T>) INJECTIONS.get(component);
+    }
+
+    /**
+     * The no-argument constructor of the factory generated for the component, if the processor generated one.
+     */
+    static Optional<Constructor<?>> factoryOf(Class<?> component) {
+        return FACTORIES.get(component);
+    }
+
+    static List<Annotation> scopesOf(Class<?> component) {
+        return SCOPES.get(component);
+    }
+
+    // 计数只统计注入元数据的缓存，作用域注解的缓存不计入
+    static long hits() {
+        return lookups.sum() - misses.sum();
+    }
+
+    static long misses() {
+        return misses.sum();
+    }
+
+    private ComponentMetadata(Class<T> component) {
+        if (Modifier.isAbstract(component.getModifiers())) {
+            throw new IllegalComponentException();
+        }
+        this.constructor = getInjectConstructor(component);
+        this.fields = getInjectFields(component);
+        this.methods = getInjectMethods(component);
+
+        if (fields.stream().map(Injectable::element).anyMatch(field -> Modifier.isFinal(field.getModifiers()))) {
+            throw new IllegalComponentException();
+        }
+        if (methods.stream().map(Injectable::element).anyMatch(method -> method.getTypeParameters().length != 0)) {
+            throw new IllegalComponentException();
+        }
+
+        try {
+            Constructor<T> element = constructor.element();
+            this.constructorHandle = LOOKUP.unreflectConstructor(element)
+                    .asSpreader(Object[].class, element.getParameterCount())
+                    .asType(CONSTRUCTOR);
+            this.fieldSetters = new MethodHandle[fields.size()];
+            for (int i = 0; i < fieldSetters.length; i++) {
+                fieldSetters[i] = LOOKUP.unreflectSetter(fields.get(i).element()).asType(SETTER);
+            }
+            this.methodInvokers = new MethodHandle[methods.size()];
+            for (int i = 0; i < methodInvokers.length; i++) {
+                Method method = methods.get(i).element();
+                methodInvokers[i] = LOOKUP.unreflect(method)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(INVOKER);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalComponentException();
+        }
+    }
+
+    private static <T> Injectable<Constructor<T>> getInjectConstructor(Class<T> component) {
+        List<Constructor<?>> injectConstructors = injectable(component.getConstructors()).toList();
+        if (injectConstructors.size() > 1) {
+            throw new IllegalComponentException();
+        }
+        return Injectable.of((Constructor<T>) injectConstructors.stream()
+                .findFirst()
+                .orElseGet(() -> defaultConstructor(component)));
+    }
+
+    private static List<Injectable<Field>> getInjectFields(Class<?> component) {
+        List<Injectable<Field>> fields = new ArrayList<>();
+        for (Class<?> current = component; current != Object.class; current = current.getSuperclass()) {
+            injectable(current.getDeclaredFields()).map(Injectable::of).forEach(fields::add);
+        }
+        return fields;
+    }
+
+    // 子类中同签名的方法（无论是否标注 Inject）都会覆盖父类的 Inject 方法
+    private static List<Injectable<Method>> getInjectMethods(Class<?> component) {
+        Set<Signature> overridden = new HashSet<>();
+        stream(component.getDeclaredMethods()).filter(method -> !method.isAnnotationPresent(Inject.class))
+                .map(Signature::of)
+                .forEach(overridden::add);
+        List<Method> methods = new ArrayList<>();
+        Set<Signature> injected = new HashSet<>();
+        for (Class<?> current = component; current != Object.class; current = current.getSuperclass()) {
+            List<Method> declared = injectable(current.getDeclaredMethods()).filter(
+                    method -> !injected.contains(Signature.of(method)) && !overridden.contains(Signature.of(method)))
+                    .toList();
+            declared.forEach(method -> injected.add(Signature.of(method)));
+            methods.addAll(declared);
+        }
+        Collections.reverse(methods);
+        return methods.stream().map(Injectable::of).toList();
+    }
+
+    private static <Type> Constructor<Type> defaultConstructor(Class<Type> implementation) {
+        try {
+            return implementation.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalComponentException();
+        }
+    }
+
+    private static <T extends AnnotatedElement> Stream<T> injectable(T[] declaredFields) {
+        return stream(declaredFields).filter(f -> f.isAnnotationPresent(Inject.class));
+    }
+
+    private record Signature(String name, List<Class<?>> parameterTypes) {
+        static Signature of(Method method) {
+            return new Signature(method.getName(), List.of(method.getParameterTypes()));
+        }
+    }
+}
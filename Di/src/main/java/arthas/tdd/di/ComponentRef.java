@@ -3,11 +3,15 @@ package arthas.tdd.di;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 public class ComponentRef<ComponentType> {
     private Type containerType;
     private Component component;
+    private Slot slot;
+    private int hash;
 
     public static <ComponentType> ComponentRef<ComponentType> of(Class<ComponentType> component) {
         return new ComponentRef<>(component, null);
@@ -30,6 +34,12 @@ public class ComponentRef<ComponentType> {
         init(type, qualifier);
     }
 
+    private ComponentRef(ComponentRef<ComponentType> ref) {
+        this.containerType = ref.containerType;
+        this.component = ref.component;
+        this.hash = ref.hash;
+    }
+
     protected ComponentRef(Annotation annotation) {
         Type type = ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
         init(type, annotation);
@@ -47,12 +57,17 @@ public class ComponentRef<ComponentType> {
         } else {
             this.component = new Component((Class<?>) type, qualifier);
         }
+        this.hash = Objects.hash(containerType, component);
     }
 
     public boolean isContainer() {
         return containerType != null;
     }
 
+    boolean isCollection() {
+        return containerType == List.class || containerType == Set.class;
+    }
+
     public Type getContainerType() {
         return containerType;
     }
@@ -61,6 +76,21 @@ public class ComponentRef<ComponentType> {
         return component;
     }
 
+    ComponentRef<ComponentType> copy() {
+        return new ComponentRef<>(this);
+    }
+
+    void assign(Object owner, int index) {
+        this.slot = new Slot(owner, index);
+    }
+
+    int slotIn(Object owner) {
+        Slot current = slot;
+        return current != null && current.owner == owner ? current.index : -1;
+    }
+
+    private record Slot(Object owner, int index) { }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -70,11 +100,12 @@ public class ComponentRef<ComponentType> {
             return false;
         }
         ComponentRef<?> that = (ComponentRef<?>) o;
-        return Objects.equals(containerType, that.containerType) && Objects.equals(component, that.component);
+        return hash == that.hash && Objects.equals(containerType, that.containerType) && component.equals(
+                that.component);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(containerType, component);
+        return hash;
     }
 }
@@ -0,0 +1,45 @@
+package arthas.tdd.di;
+
+import java.util.Map;
+
+/**
+ * Immutable map from component to slot, built once per context. Open addressing with linear probing over two flat
+ * arrays at most half full, so a lookup is a few array reads and no node is retained per entry.
+ */
+final class ComponentTable {
+    private final Component[] keys;
+    private final int[] values;
+    private final int mask;
+
+    ComponentTable(Map<Component, Integer> slots) {
+        int capacity = Integer.highestOneBit(Math.max(slots.size(), 1) * 2 - 1) << 1;
+        keys = new Component[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        slots.forEach((component, slot) -> {
+            int index = indexOf(component);
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = component;
+            values[index] = slot;
+        });
+    }
+
+    int get(Component component) {
+        for (int index = indexOf(component); ; index = (index + 1) & mask) {
+            Component key = keys[index];
+            if (key == null) {
+                return -1;
+            }
+            if (key.equals(component)) {
+                return values[index];
+            }
+        }
+    }
+
+    private int indexOf(Component component) {
+        int hash = component.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
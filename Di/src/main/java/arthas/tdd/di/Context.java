@@ -1,7 +1,39 @@
 package arthas.tdd.di;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public interface Context {
     <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref);
+
+    /**
+     * Resolves a component that must be bound, without wrapping it in an {@link Optional}. Providers use it to inject
+     * their dependencies; it throws {@link java.util.NoSuchElementException} if the component is not bound.
+     */
+    default <ComponentType> ComponentType require(ComponentRef<ComponentType> ref) {
+        return get(ref).orElseThrow();
+    }
+
+    /**
+     * Resolves the component on the executor. Contexts built by {@link ContextConfig} create the direct dependencies of
+     * each component concurrently before calling its constructor, and still create each singleton once. Use an
+     * executor suited to blocking work when constructors do I/O.
+     */
+    default <ComponentType> CompletableFuture<Optional<ComponentType>> getAsync(ComponentRef<ComponentType> ref,
+            Executor executor) {
+        return CompletableFuture.supplyAsync(() -> get(ref), executor);
+    }
+
+    default <ComponentType> CompletableFuture<Optional<ComponentType>> getAsync(ComponentRef<ComponentType> ref) {
+        return getAsync(ref, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Hands an instance got from this context back to its scope. Only {@link Pooled} components keep it for reuse;
+     * for every other component this does nothing. Releasing an instance that is already back in the pool is ignored.
+     */
+    default <ComponentType> void release(ComponentRef<ComponentType> ref, ComponentType instance) {
+    }
 }
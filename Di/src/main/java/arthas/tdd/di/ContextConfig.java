@@ -1,30 +1,66 @@
 package arthas.tdd.di;
 
-import jakarta.inject.Provider;
 import jakarta.inject.Qualifier;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Stack;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ContextConfig {
+    static final String FACTORY_SUFFIX = "_Factory";
+    static final String INDEX = "META-INF/arthas.tdd.di/components";
+
     private final Map<Component, ComponentProvider<?>> components = new HashMap<>();
+    private final Map<Component, Integer> slots = new HashMap<>();
     private final Map<Class<?>, ScopeProvider> scopes = new HashMap<>();
+    private final Map<Component, Class<?>> implementations = new HashMap<>();
+    // 作用域名称只用于 JFR 事件；bindIndexed 会并发创建 Provider
+    private final Map<ComponentProvider<?>, String> scopeNames = new ConcurrentHashMap<>();
+    // 上次验证通过之后新增或重新绑定的组件
+    private final Set<Component> unchecked = new HashSet<>();
+    // 重新创建 Provider 的方式，实例绑定为 null
+    private final Map<Component, Supplier<ComponentProvider<?>>> recipes = new HashMap<>();
+    private final Map<Component, Set<Component>> dependents = new HashMap<>();
+    private final Map<Class<?>, Set<Component>> collectors = new HashMap<>();
+    private StartupProfile profile;
+    private boolean built;
 
     public ContextConfig() {
         scopes.put(Singleton.class, SingletonInjectionProvider::new);
+        scopes.put(ThreadScoped.class, ThreadScopedInjectionProvider::new);
+        scopes.put(Pooled.class, new PooledScope());
     }
 
     public <Type> void bind(Class<Type> type, Type instance) {
-        components.put(new Component(type, null), (ComponentProvider<Type>) context -> instance);
+        put(new Component(type, null), null, (ComponentProvider<Type>) context -> instance, null);
     }
 
     public <Type> void bind(Class<Type> type, Type instance, Annotation... qualifiers) {
@@ -33,8 +69,8 @@ public class ContextConfig {
             throw new IllegalComponentException();
         }
         Arrays.stream(qualifiers)
-                .forEach(qualifier -> components.put(new Component(type, qualifier),
-                        (ComponentProvider<Type>) context -> instance));
+                .forEach(qualifier -> put(new Component(type, qualifier), null,
+                        (ComponentProvider<Type>) context -> instance, null));
     }
 
     public <Type, Implementation extends Type> void bind(Class<Type> type, Class<Implementation> implementation) {
@@ -50,15 +86,77 @@ public class ContextConfig {
             throw new IllegalComponentException();
         }
 
-        bind(type, annotationGroups.getOrDefault(Qualifier.class, List.of()),
-                createScopedProvider(implementation, annotationGroups.getOrDefault(Scope.class, List.of())));
+        List<Annotation> scopes = annotationGroups.getOrDefault(Scope.class, List.of());
+        Supplier<ComponentProvider<?>> recipe = () -> createScopedProvider(type, implementation, scopes);
+        bind(type, implementation, annotationGroups.getOrDefault(Qualifier.class, List.of()), recipe.get(), recipe);
+    }
+
+    public void bindIndexed() {
+        bindIndexed(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Binds every component listed in the build-time indexes visible to the class loader, each to its own class with
+     * the qualifiers and scope it is annotated with. Classes are loaded and scanned in parallel, then registered in
+     * index order.
+     */
+    public void bindIndexed(ClassLoader loader) {
+        List<String> entries = new ArrayList<>();
+        try {
+            Enumeration<URL> indexes = loader.getResources(INDEX);
+            while (indexes.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().filter(line -> !line.isBlank()).forEach(entries::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entries.parallelStream()
+                .map(entry -> indexed(entry, loader))
+                .toList()
+                .forEach(indexed -> bind(indexed.type(), indexed.type(), indexed.qualifiers(), indexed.provider(),
+                        () -> createScopedProvider(indexed.type(), indexed.type(), indexed.scopes())));
+    }
+
+    // 索引行：类名、限定注解类型、作用域注解类型，以 Tab 分隔
+    private Indexed indexed(String entry, ClassLoader loader) {
+        String[] columns = entry.split("\t", -1);
+        try {
+            Class<Object> type = (Class<Object>) Class.forName(columns[0], false, loader);
+            List<Annotation> qualifiers = annotations(type, columns.length > 1 ? columns[1] : "", loader);
+            List<Annotation> scopes = annotations(type, columns.length > 2 ? columns[2] : "", loader);
+            return new Indexed(type, qualifiers, scopes, createScopedProvider(type, type, scopes));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalComponentException();
+        }
+    }
+
+    private static List<Annotation> annotations(Class<?> type, String names, ClassLoader loader)
+            throws ClassNotFoundException {
+        List<Annotation> annotations = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (!name.isEmpty()) {
+                Annotation annotation = type.getAnnotation(
+                        (Class<? extends Annotation>) Class.forName(name, false, loader));
+                if (annotation != null) {
+                    annotations.add(annotation);
+                }
+            }
+        }
+        return annotations;
     }
 
-    private <Type> ComponentProvider<?> createScopedProvider(Class<Type> implementation, List<Annotation> scopes) {
+    private record Indexed(Class<Object> type, List<Annotation> qualifiers, List<Annotation> scopes,
+            ComponentProvider<?> provider) { }
+
+    private <Type> ComponentProvider<?> createScopedProvider(Class<Type> type, Class<? extends Type> implementation,
+            List<Annotation> scopes) {
         if (scopes.size() > 1) {
             throw new IllegalComponentException();
         }
-        ComponentProvider<?> injectionProvider = new InjectionProvider<>(implementation);
+        ComponentProvider<?> injectionProvider = lazyProviderOf(type, implementation);
         return scopes.stream()
                 .findFirst()
                 .or(() -> scopeFrom(implementation))
@@ -66,16 +164,113 @@ public class ContextConfig {
                 .orElse(injectionProvider);
     }
 
-    private <Type> void bind(Class<Type> type, List<Annotation> qualifiers, ComponentProvider<?> provider) {
+    // 作用域包在代理外面：单例缓存的是代理，真正的实例在代理第一次被调用时创建；
+    // 绑定到自身（bindIndexed 总是如此）时没有可代理的接口，按普通组件创建
+    private static <Type> ComponentProvider<?> lazyProviderOf(Class<Type> type, Class<? extends Type> implementation) {
+        if (!implementation.isAnnotationPresent(Lazy.class) || type == implementation) {
+            return injectionProviderOf(implementation);
+        }
+        if (!type.isInterface()) {
+            throw new IllegalComponentException();
+        }
+        return new LazyInjectionProvider<>(type, injectionProviderOf(implementation));
+    }
+
+    static <Type> ComponentProvider<?> injectionProviderOf(Class<Type> implementation) {
+        Optional<Constructor<?>> factory = ComponentMetadata.factoryOf(implementation);
+        if (factory.isEmpty()) {
+            return new InjectionProvider<>(implementation);
+        }
+        try {
+            return (ComponentProvider<?>) factory.get().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalComponentException();
+        }
+    }
+
+    private <Type> void bind(Class<Type> type, Class<?> implementation, List<Annotation> qualifiers,
+            ComponentProvider<?> provider, Supplier<ComponentProvider<?>> recipe) {
         if (qualifiers.isEmpty()) {
-            components.put(new Component(type, null), provider);
+            put(new Component(type, null), implementation, provider, recipe);
+        }
+        qualifiers.forEach(qualifier -> put(new Component(type, qualifier), implementation, provider, recipe));
+    }
+
+    private void put(Component component, Class<?> implementation, ComponentProvider<?> provider,
+            Supplier<ComponentProvider<?>> recipe) {
+        ComponentProvider<?> previous = components.put(component, provider);
+        implementations.put(component, implementation);
+        recipes.put(component, recipe);
+        slots.computeIfAbsent(component, c -> slots.size());
+        unchecked.add(component);
+        if (previous != null) {
+            link(component, previous, false);
+            forget(List.of(previous));
+        }
+        link(component, provider, true);
+        // 还没有创建过 Context 时，没有任何实例需要作废
+        if (built) {
+            Set<Component> changed = new HashSet<>(dependents.getOrDefault(component, Set.of()));
+            changed.addAll(collectors.getOrDefault(component.type(), Set.of()));
+            refresh(changed);
+        }
+    }
+
+    // 反向依赖：谁注入了这个组件，谁注入了这个类型的集合
+    private void link(Component component, ComponentProvider<?> provider, boolean add) {
+        for (ComponentRef<?> dependency : provider.getDependencies()) {
+            Set<Component> users = dependency.isCollection()
+                    ? collectors.computeIfAbsent(dependency.component().type(), type -> new HashSet<>())
+                    : dependents.computeIfAbsent(dependency.component(), c -> new HashSet<>());
+            if (add) {
+                users.add(component);
+            } else {
+                users.remove(component);
+            }
+        }
+    }
+
+    // 直接或间接依赖改动组件的组件换用新的 Provider，其缓存的单例在之后的 Context 中重新创建；
+    // 之前的 Context 仍持有原来的 Provider，不受影响
+    private void refresh(Set<Component> changed) {
+        Deque<Component> pending = new ArrayDeque<>(changed);
+        Set<Component> visited = new HashSet<>(changed);
+        Map<ComponentProvider<?>, ComponentProvider<?>> replaced = new IdentityHashMap<>();
+        while (!pending.isEmpty()) {
+            Component component = pending.poll();
+            Supplier<ComponentProvider<?>> recipe = recipes.get(component);
+            if (recipe != null) {
+                ComponentProvider<?> previous = components.get(component);
+                // 同一次 bind 的多个限定符共用一个 Provider，替换后仍然共用
+                components.put(component, replaced.computeIfAbsent(previous, p -> recipe.get()));
+            }
+            for (Component dependent : dependents.getOrDefault(component, Set.of())) {
+                if (visited.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
+            for (Component dependent : collectors.getOrDefault(component.type(), Set.of())) {
+                if (visited.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
+        }
+        forget(replaced.keySet());
+    }
+
+    // 同一次 bind 的多个限定符共用一个 Provider，只有不再被任何组件使用时才去掉它的作用域名称
+    private void forget(Collection<ComponentProvider<?>> previous) {
+        Set<ComponentProvider<?>> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        live.addAll(components.values());
+        for (ComponentProvider<?> provider : previous) {
+            if (!live.contains(provider)) {
+                scopeNames.remove(provider);
+            }
         }
-        qualifiers.forEach(qualifier -> components.put(new Component(type, qualifier), provider));
     }
 
     private static <Type> Optional<Annotation> scopeFrom(Class<Type> implementation) {
-        List<Annotation> scopeAnnotations = Arrays.stream(implementation.getAnnotations())
-                .filter(annotation -> annotation.annotationType().isAnnotationPresent(Scope.class)).toList();
+        List<Annotation> scopeAnnotations = ComponentMetadata.scopesOf(implementation);
         if (scopeAnnotations.size() > 1) {
             throw new IllegalComponentException();
         }
@@ -96,49 +291,137 @@ public class ContextConfig {
         if (!scopes.containsKey(scope.annotationType())) {
             throw new IllegalComponentException();
         }
-        return scopes.get(scope.annotationType()).create(injectionProvider);
+        ComponentProvider<?> provider = scopes.get(scope.annotationType()).create(scope, injectionProvider);
+        scopeNames.put(provider, scope.annotationType().getSimpleName());
+        return provider;
     }
 
     public <ScopeType extends Annotation> void scope(Class<ScopeType> scope, ScopeProvider provider) {
         scopes.put(scope, provider);
     }
 
+    /**
+     * Contexts built from now on record every component they create into the profile; {@code null} stops recording.
+     */
+    public void profile(StartupProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Lookups of injection metadata answered from the per-class cache shared by every config in this JVM.
+     */
+    public static long metadataHits() {
+        return ComponentMetadata.hits();
+    }
+
+    /**
+     * Component classes scanned for injection points; each class is scanned once per JVM.
+     */
+    public static long metadataMisses() {
+        return ComponentMetadata.misses();
+    }
+
+    /**
+     * Builds an immutable context from the current bindings. Contexts built after a binding changes create new
+     * instances of the singletons and other scoped components that depend on it, directly or through other components;
+     * every other scoped instance is shared with the contexts built before.
+     */
     public Context getContext() {
-        // 后续做校验的为止
-        components.keySet().forEach(component -> checkDependencies(component, new Stack<>()));
-        return new Context() {
-            @Override
-            public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref) {
-                if (ref.isContainer()) {
-                    if (ref.getContainerType() != Provider.class) {
-                        return Optional.empty();
-                    }
-                    return (Optional<ComponentType>) Optional.ofNullable(getProvider(ref))
-                            .map(componentProvider -> (Provider<Object>) () -> componentProvider.get(this));
+        return compile();
+    }
+
+    private CompiledContext compile() {
+        ContextCreationEvent event = new ContextCreationEvent();
+        event.begin();
+        event.components = components.size();
+        if (!unchecked.isEmpty()) {
+            DependencyGraph.check(components, unchecked);
+            event.validated = true;
+        }
+        unchecked.clear();
+        built = true;
+        ComponentProvider<?>[] providers = new ComponentProvider<?>[slots.size()];
+        String[] scopeNames = new String[slots.size()];
+        boolean[] shared = new boolean[slots.size()];
+        components.forEach((component, provider) -> {
+            providers[slots.get(component)] = provider;
+            shared[slots.get(component)] = implementations.get(component) == null
+                    || provider instanceof SingletonInjectionProvider;
+            scopeNames[slots.get(component)] = this.scopeNames.getOrDefault(provider,
+                    implementations.get(component) == null ? "Instance" : "Prototype");
+            // 集合按类型收集成员，没有自己的槽位；成员都带限定符或一个都没有时也找不到槽位
+            for (ComponentRef<?> dependency : provider.getDependencies()) {
+                Integer slot = dependency.isCollection() ? null : slots.get(dependency.component());
+                if (slot != null) {
+                    dependency.assign(slots, slot);
                 }
-                return Optional.ofNullable(getProvider(ref))
-                        .map(componentProvider -> (ComponentType) componentProvider.get(this));
             }
-        };
+        });
+        CompiledContext context = new CompiledContext(slots, slots, providers, scopeNames, shared, profile);
+        event.commit();
+        return context;
     }
 
-    private <ComponentType> ComponentProvider<?> getProvider(ComponentRef<ComponentType> ref) {
-        return components.get(ref.component());
+    public Context getEagerContext(Executor executor) {
+        CompiledContext context = compile();
+        for (List<Component> wave : singletonWaves()) {
+            try {
+                CompletableFuture.allOf(wave.stream()
+                        .map(component -> CompletableFuture.runAsync(() -> context.create(component), executor))
+                        .toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return context;
     }
 
-    private void checkDependencies(Component component, Stack<Component> visiting) {
-        for (ComponentRef dependency : components.get(component).getDependencies()) {
-            if (!components.containsKey(dependency.component())) {
-                throw new DependencyNotFoundException(component, dependency.component());
+    // 按依赖深度分层：同一层的单例互不依赖，可以并发创建
+    private List<List<Component>> singletonWaves() {
+        Map<Component, List<Component>> dependents = new HashMap<>();
+        Map<Component, Integer> required = new HashMap<>();
+        Map<Component, Integer> levels = new HashMap<>();
+        Deque<Component> ready = new ArrayDeque<>();
+        components.forEach((component, provider) -> {
+            int count = 0;
+            for (ComponentRef<?> dependency : provider.getDependencies()) {
+                if (!dependency.isContainer()) {
+                    dependents.computeIfAbsent(dependency.component(), c -> new ArrayList<>()).add(component);
+                    count++;
+                }
+            }
+            required.put(component, count);
+            levels.put(component, 0);
+            if (count == 0) {
+                ready.add(component);
+            }
+        });
+
+        List<List<Component>> waves = new ArrayList<>();
+        Set<ComponentProvider<?>> scheduled = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (!ready.isEmpty()) {
+            Component component = ready.poll();
+            int level = levels.get(component);
+            ComponentProvider<?> provider = components.get(component);
+            if (provider instanceof SingletonInjectionProvider && scheduled.add(provider)) {
+                while (waves.size() <= level) {
+                    waves.add(new ArrayList<>());
+                }
+                waves.get(level).add(component);
             }
-            if (!dependency.isContainer()) {
-                if (visiting.contains(dependency.component())) {
-                    throw new CyclicDependenciesException(visiting);
+            for (Component dependent : dependents.getOrDefault(component, List.of())) {
+                levels.merge(dependent, level + 1, Math::max);
+                if (required.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
                 }
-                visiting.push(dependency.component());
-                checkDependencies(dependency.component(), visiting);
-                visiting.pop();
             }
         }
+        return waves;
     }
 }
@@ -0,0 +1,19 @@
+package arthas.tdd.di;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("arthas.tdd.di.ContextCreation")
+@Label("Context Creation")
+@Category("Dependency Injection")
+@StackTrace(false)
+class ContextCreationEvent extends Event {
+    @Label("Components")
+    int components;
+
+    @Label("Validated")
+    boolean validated;
+}
@@ -0,0 +1,163 @@
+package arthas.tdd.di;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Validates the component graph in a single pass: every missing dependency is collected while the edges are built,
+ * and every cycle is found as a strongly connected component with an iterative Tarjan walk, so deep chains cannot
+ * overflow the stack. The first problem is thrown with all the others attached as suppressed exceptions.
+ */
+class DependencyGraph {
+    private final Component[] nodes;
+    private final int[][] edges;
+    private final List<RuntimeException> problems = new ArrayList<>();
+
+    // 只从 roots 出发建图：未改动的部分上次已经验证过，新的缺失依赖和环一定经过改动的组件
+    private DependencyGraph(Map<Component, ? extends ComponentProvider<?>> components, Collection<Component> roots) {
+        Map<Component, Integer> indexes = new HashMap<>(roots.size() * 2);
+        List<Component> order = new ArrayList<>(roots);
+        for (int i = 0; i < order.size(); i++) {
+            indexes.put(order.get(i), i);
+        }
+        List<int[]> adjacency = new ArrayList<>(order.size());
+        Map<Class<?>, List<Component>> types = null;
+        for (int i = 0; i < order.size(); i++) {
+            List<ComponentRef<?>> dependencies = components.get(order.get(i)).getDependencies();
+            int[] targets = new int[dependencies.size()];
+            int count = 0;
+            for (ComponentRef<?> dependency : dependencies) {
+                // 集合的成员在注入时一起创建，是真正的依赖；没有成员时注入空集合，不算缺失
+                if (dependency.isCollection()) {
+                    if (types == null) {
+                        types = components.keySet().stream().collect(Collectors.groupingBy(Component::type));
+                    }
+                    for (Component member : types.getOrDefault(dependency.component().type(), List.of())) {
+                        if (Multibinding.contains(dependency.component(), member)) {
+                            if (count == targets.length) {
+                                targets = Arrays.copyOf(targets, count * 2 + 1);
+                            }
+                            targets[count++] = indexOf(member, indexes, order);
+                        }
+                    }
+                    continue;
+                }
+                Integer target = indexes.get(dependency.component());
+                if (target == null && !components.containsKey(dependency.component())) {
+                    problems.add(new DependencyNotFoundException(order.get(i), dependency.component()));
+                    continue;
+                }
+                if (!dependency.isContainer()) {
+                    if (count == targets.length) {
+                        targets = Arrays.copyOf(targets, count * 2 + 1);
+                    }
+                    targets[count++] = target != null ? target : indexOf(dependency.component(), indexes, order);
+                }
+            }
+            adjacency.add(count == targets.length ? targets : Arrays.copyOf(targets, count));
+        }
+        nodes = order.toArray(new Component[0]);
+        edges = adjacency.toArray(new int[0][]);
+    }
+
+    private static int indexOf(Component component, Map<Component, Integer> indexes, List<Component> order) {
+        Integer index = indexes.get(component);
+        if (index == null) {
+            index = order.size();
+            indexes.put(component, index);
+            order.add(component);
+        }
+        return index;
+    }
+
+    static void check(Map<Component, ? extends ComponentProvider<?>> components) {
+        check(components, components.keySet());
+    }
+
+    /**
+     * Checks only the components reachable from {@code changed}, assuming the rest of the graph passed an earlier
+     * check and no binding has been removed since.
+     */
+    static void check(Map<Component, ? extends ComponentProvider<?>> components, Collection<Component> changed) {
+        DependencyGraph graph = new DependencyGraph(components, changed);
+        graph.findCycles();
+        if (!graph.problems.isEmpty()) {
+            RuntimeException first = graph.problems.get(0);
+            graph.problems.stream().skip(1).forEach(first::addSuppressed);
+            throw first;
+        }
+    }
+
+    private void findCycles() {
+        int n = nodes.length;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int next = 1;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            index[root] = low[root] = next++;
+            stack[top++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < edges[v].length) {
+                    int w = edges[v][callEdge[depth]++];
+                    if (index[w] == 0) {
+                        index[w] = low[w] = next++;
+                        stack[top++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = 0;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                if (low[v] == index[v]) {
+                    List<Component> component = new ArrayList<>();
+                    int w;
+                    do {
+                        w = stack[--top];
+                        onStack[w] = false;
+                        component.add(nodes[w]);
+                    } while (w != v);
+                    if (component.size() > 1 || selfDependent(v)) {
+                        problems.add(new CyclicDependenciesException(component));
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+    }
+
+    private boolean selfDependent(int v) {
+        for (int w : edges[v]) {
+            if (w == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
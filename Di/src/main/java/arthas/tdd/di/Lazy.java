@@ -0,0 +1,18 @@
+package arthas.tdd.di;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Injects a proxy of the bound interface and builds the component on the first method call. Only components bound to
+ * an interface can be lazy; with {@code @Singleton} the proxy and the component behind it are both created once. A
+ * component bound to its own class, as {@link ContextConfig#bindIndexed()} does, is created as usual.
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Lazy { }
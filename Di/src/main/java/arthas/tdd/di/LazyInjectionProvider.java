@@ -0,0 +1,65 @@
+package arthas.tdd.di;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+class LazyInjectionProvider<T> implements ComponentProvider<T> {
+    private final Class<T> type;
+    private final ComponentProvider<?> provider;
+
+    public LazyInjectionProvider(Class<T> type, ComponentProvider<?> provider) {
+        this.type = type;
+        this.provider = provider;
+    }
+
+    @Override
+    public T get(Context context) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new Target(type, provider, context));
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+
+    // 每个代理对应一个实例，第一次调用方法时创建
+    private static class Target implements InvocationHandler {
+        private final Class<?> type;
+        private final ComponentProvider<?> provider;
+        private final Context context;
+        private volatile Object instance;
+
+        Target(Class<?> type, ComponentProvider<?> provider, Context context) {
+            this.type = type;
+            this.provider = provider;
+            this.context = context;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(instance(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object instance() {
+            Object current = instance;
+            if (current == null) {
+                synchronized (this) {
+                    current = instance;
+                    if (current == null) {
+                        // 真正的实例不经过 Context 创建，单独记录一次
+                        instance = current = ComponentCreationEvent.record(type, null, "Lazy", provider, context);
+                    }
+                }
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package arthas.tdd.di;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The members of a {@code List<T>} or {@code Set<T>} injection point, fixed when the context is built: every binding
+ * of {@code T} when the point is unqualified, or the binding with the same qualifier. Members keep binding order. When
+ * every member is a singleton or an instance, the collection is built once and shared.
+ */
+final class Multibinding {
+    static final Multibinding EMPTY = new Multibinding(new int[0], true);
+
+    private final int[] slots;
+    private final boolean shared;
+    private volatile List<Object> list;
+    private volatile Set<Object> set;
+
+    Multibinding(int[] slots, boolean shared) {
+        this.slots = slots;
+        this.shared = shared;
+    }
+
+    static boolean contains(Component collection, Component member) {
+        return member.type() == collection.type()
+                && (collection.qualifier() == null || member.qualifier() == collection.qualifier());
+    }
+
+    Object collect(CompiledContext context, Type containerType) {
+        return containerType == List.class ? list(context) : set(context);
+    }
+
+    private List<Object> list(CompiledContext context) {
+        List<Object> current = list;
+        if (current == null) {
+            current = Collections.unmodifiableList(Arrays.asList(instances(context)));
+            if (shared) {
+                list = current;
+            }
+        }
+        return current;
+    }
+
+    private Set<Object> set(CompiledContext context) {
+        Set<Object> current = set;
+        if (current == null) {
+            current = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(instances(context))));
+            if (shared) {
+                set = current;
+            }
+        }
+        return current;
+    }
+
+    private Object[] instances(CompiledContext context) {
+        Object[] instances = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            instances[i] = context.create(slots[i]);
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,20 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Reuses instances handed back with {@link Context#release(ComponentRef, Object)}, for prototypes that are expensive
+ * to build and cheap to reset. At most {@link #max()} idle instances are kept per binding; when none is idle a new one
+ * is created.
+ */
+@Scope
+@Documented
+@Retention(RUNTIME)
+public @interface Pooled {
+    int max() default 16;
+}
@@ -0,0 +1,78 @@
+package arthas.tdd.di;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+class PooledInjectionProvider<T> implements ComponentProvider<T> {
+    private final PooledScope scope;
+    private final ComponentProvider<T> provider;
+    // 空闲实例，借出和归还都用 CAS；每个线程从不同位置开始查找，减少竞争
+    private final AtomicReferenceArray<T> idle;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public PooledInjectionProvider(PooledScope scope, ComponentProvider<T> provider, int max) {
+        this.scope = scope;
+        this.provider = provider;
+        this.idle = new AtomicReferenceArray<>(max);
+    }
+
+    @Override
+    public T get(Context context) {
+        scope.borrows.increment();
+        int length = idle.length();
+        int start = start(length);
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            T instance = idle.get(index);
+            if (instance != null && idle.compareAndSet(index, instance, null)) {
+                size.decrementAndGet();
+                return instance;
+            }
+        }
+        scope.misses.increment();
+        return provider.get(context);
+    }
+
+    void release(T instance) {
+        if (isIdle(instance)) {
+            return;
+        }
+        if (instance instanceof Reusable reusable) {
+            reusable.reset();
+        }
+        int length = idle.length();
+        int start = start(length);
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            if (idle.get(index) == null && idle.compareAndSet(index, null, instance)) {
+                size.incrementAndGet();
+                return;
+            }
+        }
+        // 池已满，交给 GC
+    }
+
+    // 重复归还的实例已经在池里，不再重置也不再放入第二份
+    private boolean isIdle(T instance) {
+        for (int i = 0; i < idle.length(); i++) {
+            if (idle.get(i) == instance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private static int start(int length) {
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) % length);
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+}
@@ -0,0 +1,59 @@
+package arthas.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The scope behind {@link Pooled}. {@link ContextConfig} registers one by default; register your own instance with
+ * {@link ContextConfig#scope(Class, ScopeProvider)} to read its metrics, which cover every pool it created.
+ */
+public class PooledScope implements ScopeProvider {
+    final LongAdder borrows = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    // 弱引用：重新绑定或丢弃 Context 之后，不再使用的池不再计入
+    private final Set<PooledInjectionProvider<?>> pools = Collections.newSetFromMap(new WeakHashMap<>());
+
+    @Override
+    public ComponentProvider<?> create(ComponentProvider<?> provider) {
+        return create(provider, 16);
+    }
+
+    @Override
+    public ComponentProvider<?> create(Annotation scope, ComponentProvider<?> provider) {
+        return scope instanceof Pooled pooled ? create(provider, pooled.max()) : create(provider);
+    }
+
+    private ComponentProvider<?> create(ComponentProvider<?> provider, int max) {
+        if (max < 1) {
+            throw new IllegalComponentException();
+        }
+        PooledInjectionProvider<?> pool = new PooledInjectionProvider<>(this, provider, max);
+        synchronized (pools) {
+            pools.add(pool);
+        }
+        return pool;
+    }
+
+    public long borrows() {
+        return borrows.sum();
+    }
+
+    /**
+     * Borrows that found no idle instance and created a new one.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Idle instances currently held.
+     */
+    public int size() {
+        synchronized (pools) {
+            return pools.stream().mapToInt(PooledInjectionProvider::size).sum();
+        }
+    }
+}
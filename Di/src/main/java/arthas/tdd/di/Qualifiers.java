@@ -0,0 +1,85 @@
+package arthas.tdd.di;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns qualifier annotations so that equal qualifiers share one canonical instance. {@link Component} can then
+ * compare and hash qualifiers by identity instead of going through the reflective equals and hashCode of annotation
+ * proxies. Entries are weak: a qualifier stays canonical while some component still refers to it, so refs built only
+ * to look up a dynamic name do not accumulate. Interning takes no lock, but still hashes the qualifier once and
+ * compares it with the canonical instance, so a ref built on every lookup costs more than a prebuilt one.
+ */
+final class Qualifiers {
+    private static final ClassValue<Table> CANONICAL = new ClassValue<>() {
+        @Override
+        protected Table computeValue(Class<?> type) {
+            return new Table();
+        }
+    };
+
+    private Qualifiers() {
+    }
+
+    static Annotation canonical(Annotation qualifier) {
+        if (qualifier == null) {
+            return null;
+        }
+        return CANONICAL.get(qualifier.annotationType()).intern(qualifier);
+    }
+
+    private static final class Table {
+        private final Map<Key, Key> keys = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Annotation> cleared = new ReferenceQueue<>();
+
+        Annotation intern(Annotation qualifier) {
+            for (Reference<?> stale; (stale = cleared.poll()) != null; ) {
+                keys.remove(stale);
+            }
+            Key key = new Key(qualifier, cleared);
+            while (true) {
+                Key existing = keys.putIfAbsent(key, key);
+                if (existing == null) {
+                    return qualifier;
+                }
+                Annotation instance = existing.get();
+                if (instance != null) {
+                    return instance;
+                }
+                // 已被回收但还没出队的旧键，移除后重试
+                keys.remove(existing, existing);
+            }
+        }
+    }
+
+    private static final class Key extends WeakReference<Annotation> {
+        private final int hash;
+
+        Key(Annotation qualifier, ReferenceQueue<Annotation> queue) {
+            super(qualifier, queue);
+            this.hash = qualifier.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key other) || hash != other.hash) {
+                return false;
+            }
+            Annotation qualifier = get();
+            Annotation another = other.get();
+            return qualifier != null && (qualifier == another || qualifier.equals(another));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package arthas.tdd.di;
+
+/**
+ * Implemented by {@link Pooled} components that hold state between uses. {@link #reset()} is called when the instance
+ * is released, before it goes back to the pool; if it throws, the instance is not pooled.
+ */
+public interface Reusable {
+    void reset();
+}
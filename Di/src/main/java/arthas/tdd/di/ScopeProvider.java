@@ -1,5 +1,14 @@
 package arthas.tdd.di;
 
-interface ScopeProvider {
+import java.lang.annotation.Annotation;
+
+public interface ScopeProvider {
     ComponentProvider<?> create(ComponentProvider<?> provider);
+
+    /**
+     * Called with the scope annotation of the component, for scopes configured by annotation members.
+     */
+    default ComponentProvider<?> create(Annotation scope, ComponentProvider<?> provider) {
+        return create(provider);
+    }
 }
@@ -1,9 +1,28 @@
 package arthas.tdd.di;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 class SingletonInjectionProvider<T> implements ComponentProvider<T> {
-    private T singleton;
+    private static final VarHandle STATE;
+    // 正在等待其他线程创建单例的线程，用于发现跨线程的 Provider 循环
+    private static final Map<Thread, Pending> WAITING = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(SingletonInjectionProvider.class, "state", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // null：尚未创建；Pending：正在创建；其他：单例本身
+    private Object state;
     private ComponentProvider<T> provider;
 
     public SingletonInjectionProvider(ComponentProvider<T> provider) {
@@ -12,14 +31,88 @@ class SingletonInjectionProvider<T> implements ComponentProvider<T> {
 
     @Override
     public T get(Context context) {
-        if (singleton == null) {
-            singleton = provider.get(context);
+        Object current = STATE.getAcquire(this);
+        if (current != null && !(current instanceof Pending)) {
+            return (T) current;
+        }
+        return create(context);
+    }
+
+    boolean isCreated() {
+        Object current = STATE.getAcquire(this);
+        return current != null && !(current instanceof Pending);
+    }
+
+    // 包装的 Provider 每次都用依赖构造新实例，异步解析时才值得先并发创建依赖
+    boolean constructs() {
+        return provider instanceof InjectionProvider;
+    }
+
+    private T create(Context context) {
+        while (true) {
+            Object current = STATE.getAcquire(this);
+            if (current == null) {
+                Pending pending = new Pending(Thread.currentThread());
+                if (STATE.compareAndSet(this, null, pending)) {
+                    return construct(context, pending);
+                }
+            } else if (current instanceof Pending pending) {
+                return (T) pending.await();
+            } else {
+                return (T) current;
+            }
         }
-        return singleton;
+    }
+
+    private T construct(Context context, Pending pending) {
+        T instance;
+        try {
+            instance = provider.get(context);
+        } catch (RuntimeException | Error e) {
+            STATE.setRelease(this, null);
+            pending.future.completeExceptionally(e);
+            throw e;
+        }
+        STATE.setRelease(this, instance);
+        pending.future.complete(instance);
+        return instance;
     }
 
     @Override
     public List<ComponentRef<?>> getDependencies() {
         return provider.getDependencies();
     }
+
+    private static class Pending {
+        private final Thread owner;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Pending(Thread owner) {
+            this.owner = owner;
+        }
+
+        Object await() {
+            Thread current = Thread.currentThread();
+            WAITING.put(current, this);
+            try {
+                int steps = WAITING.size();
+                for (Pending waiting = this; waiting != null && steps-- >= 0; waiting = WAITING.get(waiting.owner)) {
+                    if (waiting.owner == current) {
+                        throw new CyclicDependenciesException(List.of());
+                    }
+                }
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            } finally {
+                WAITING.remove(current);
+            }
+        }
+    }
 }
@@ -0,0 +1,171 @@
+package arthas.tdd.di;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every component a context creates, when its provider started and finished, and which components it created
+ * in turn. Pass one to {@link ContextConfig#profile(StartupProfile)} before {@link ContextConfig#getContext()}, resolve
+ * what the application needs at startup, then read the tree or write it as JSON.
+ */
+public final class StartupProfile {
+    private final long origin = System.nanoTime();
+    private final List<Call> roots = Collections.synchronizedList(new ArrayList<>());
+    private final ThreadLocal<Deque<Recording>> stacks = ThreadLocal.withInitial(ArrayDeque::new);
+    // 真正创建过实例的调用，以及每次复用已有单例的调用所等待的那次创建
+    private final Map<Component, Call> created = new ConcurrentHashMap<>();
+    private final Map<Call, Call> reused = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * One provider call. Times are in nanoseconds since the profile was created; {@code self} excludes the calls made
+     * for its dependencies.
+     */
+    public record Call(Component component, long start, long end, List<Call> children) {
+        public long duration() {
+            return end - start;
+        }
+
+        public long self() {
+            return duration() - children.stream().mapToLong(Call::duration).sum();
+        }
+    }
+
+    void enter(Component component, boolean cached) {
+        stacks.get().push(new Recording(component, cached, System.nanoTime() - origin));
+    }
+
+    void exit() {
+        Deque<Recording> stack = stacks.get();
+        Recording recording = stack.pop();
+        Call call = new Call(recording.component, recording.start, System.nanoTime() - origin,
+                List.copyOf(recording.children));
+        if (!recording.cached) {
+            created.put(call.component(), call);
+        } else if (created.containsKey(call.component())) {
+            reused.put(call, created.get(call.component()));
+        }
+        if (stack.isEmpty()) {
+            roots.add(call);
+        } else {
+            stack.peek().children.add(call);
+        }
+    }
+
+    public List<Call> roots() {
+        synchronized (roots) {
+            return List.copyOf(roots);
+        }
+    }
+
+    /**
+     * The chain of creations that set the startup time, from the first component created to the one that finished
+     * last. A call that reused a singleton counts as the call that created it, so the path also follows dependencies
+     * created in an earlier wave of {@link ContextConfig#getEagerContext(java.util.concurrent.Executor)}.
+     */
+    public List<Call> criticalPath() {
+        Map<Call, Long> costs = new IdentityHashMap<>();
+        List<Call> path = new ArrayList<>();
+        for (Call call = longest(roots(), costs); call != null; call = longest(call.children(), costs)) {
+            path.add(0, call);
+        }
+        return path;
+    }
+
+    private Call longest(List<Call> calls, Map<Call, Long> costs) {
+        return calls.stream().map(this::creationOf)
+                .max(Comparator.comparingLong(call -> cost(call, costs))).orElse(null);
+    }
+
+    // 自身耗时加上耗时最长的那条依赖链
+    private long cost(Call call, Map<Call, Long> costs) {
+        Long cost = costs.get(call);
+        if (cost == null) {
+            cost = call.self() + call.children().stream()
+                    .mapToLong(child -> cost(creationOf(child), costs)).max().orElse(0);
+            costs.put(call, cost);
+        }
+        return cost;
+    }
+
+    private Call creationOf(Call call) {
+        return reused.getOrDefault(call, call);
+    }
+
+    public void write(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\"roots\":");
+        writeCalls(json, roots(), true);
+        json.append(",\"criticalPath\":");
+        writeCalls(json, criticalPath(), false);
+        json.append("}\n");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    private static void writeCalls(StringBuilder json, List<Call> calls, boolean children) {
+        json.append('[');
+        for (int i = 0; i < calls.size(); i++) {
+            Call call = calls.get(i);
+            json.append(i == 0 ? "" : ",").append("{\"type\":");
+            writeString(json, call.component().type().getName());
+            json.append(",\"qualifier\":");
+            if (call.component().qualifier() == null) {
+                json.append("null");
+            } else {
+                writeString(json, call.component().qualifier().toString());
+            }
+            json.append(",\"start\":").append(call.start())
+                    .append(",\"duration\":").append(call.duration())
+                    .append(",\"self\":").append(call.self());
+            if (children) {
+                json.append(",\"children\":");
+                writeCalls(json, call.children(), true);
+            }
+            json.append('}');
+        }
+        json.append(']');
+    }
+
+    private static void writeString(StringBuilder json, String value) {
+        json.append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private static class Recording {
+        final Component component;
+        final boolean cached;
+        final long start;
+        final List<Call> children = new ArrayList<>();
+
+        Recording(Component component, boolean cached, long start) {
+            this.component = component;
+            this.cached = cached;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * One instance per thread, for components that are expensive to build but not thread-safe.
+ */
+@Scope
+@Documented
+@Retention(RUNTIME)
+public @interface ThreadScoped { }
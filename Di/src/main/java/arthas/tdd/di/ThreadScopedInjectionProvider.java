@@ -0,0 +1,28 @@
+package arthas.tdd.di;
+
+import java.util.List;
+
+class ThreadScopedInjectionProvider<T> implements ComponentProvider<T> {
+    // 每个 Provider 持有自己的 ThreadLocal，线程结束或 Provider 被回收后条目随之失效
+    private final ThreadLocal<T> instances = new ThreadLocal<>();
+    private final ComponentProvider<T> provider;
+
+    public ThreadScopedInjectionProvider(ComponentProvider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get(Context context) {
+        T instance = instances.get();
+        if (instance == null) {
+            instance = provider.get(context);
+            instances.set(instance);
+        }
+        return instance;
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+}
@@ -5,10 +5,14 @@ import jakarta.inject.Provider;
 import jakarta.inject.Qualifier;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Named;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -17,11 +21,28 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -57,6 +78,52 @@ public class ContextTest {
             assertSame(instance, component.get());
         }
 
+        @Test
+        void should_not_see_bindings_made_after_context_created() {
+            TestComponent instance = new TestComponent() { };
+            contextConfig.bind(TestComponent.class, instance);
+            Context context = contextConfig.getContext();
+
+            contextConfig.bind(TestComponent.class, new TestComponent() { });
+            contextConfig.bind(Dependency.class, new Dependency() { });
+
+            assertSame(instance, context.get(ComponentRef.of(TestComponent.class)).get());
+            assertFalse(context.get(ComponentRef.of(Dependency.class)).isPresent());
+        }
+
+        @Test
+        void should_find_every_component_among_many_bindings() {
+            List<Dependency> instances = IntStream.range(0, 100).mapToObj(i -> new Dependency() { }).collect(
+                    Collectors.toList());
+            for (int i = 0; i < instances.size(); i++) {
+                contextConfig.bind(Dependency.class, instances.get(i), new NamedLiteral("dependency-" + i));
+            }
+            Context context = contextConfig.getContext();
+
+            for (int i = 0; i < instances.size(); i++) {
+                assertSame(instances.get(i),
+                        context.get(ComponentRef.of(Dependency.class, new NamedLiteral("dependency-" + i))).get());
+            }
+            assertFalse(context.get(ComponentRef.of(Dependency.class, new NamedLiteral("dependency-100"))).isPresent());
+        }
+
+        static class ScannedOncePerJvm {
+            @Inject
+            Dependency dependency;
+        }
+
+        @Test
+        void should_report_metadata_cache_hits_and_misses() {
+            long hits = ContextConfig.metadataHits();
+            long misses = ContextConfig.metadataMisses();
+
+            contextConfig.bind(ScannedOncePerJvm.class, ScannedOncePerJvm.class);
+            new ContextConfig().bind(ScannedOncePerJvm.class, ScannedOncePerJvm.class);
+
+            assertEquals(misses + 1, ContextConfig.metadataMisses());
+            assertEquals(hits + 1, ContextConfig.metadataHits());
+        }
+
         @ParameterizedTest(name = "support {0}")
         @MethodSource
         void should_bind_type_to_an_injectable_component(Class<? extends TestComponent> componentType) {
@@ -125,13 +192,195 @@ public class ContextTest {
             assertSame(provider.get(), instance);
         }
 
+        @Test
+        void should_reuse_provider_of_same_component() {
+            TestComponent instance = new TestComponent() { };
+            contextConfig.bind(TestComponent.class, instance);
+
+            Context context = contextConfig.getContext();
+            Provider<TestComponent> provider = context.get(new ComponentRef<Provider<TestComponent>>() { }).get();
+
+            assertSame(provider, context.get(new ComponentRef<Provider<TestComponent>>() { }).get());
+        }
+
         @Test
         void should_not_retrieve_bind_type_as_unsupported_container() {
             TestComponent instance = new TestComponent() { };
             contextConfig.bind(TestComponent.class, instance);
 
             Context context = contextConfig.getContext();
-            assertFalse(context.get(new ComponentRef<List<TestComponent>>() { }).isPresent());
+            assertFalse(context.get(new ComponentRef<Optional<TestComponent>>() { }).isPresent());
+        }
+
+        @Test
+        void should_retrieve_all_bindings_of_type_as_list_in_binding_order() {
+            Dependency first = new Dependency() { };
+            Dependency second = new Dependency() { };
+            Dependency third = new Dependency() { };
+            contextConfig.bind(Dependency.class, first);
+            contextConfig.bind(Dependency.class, second, new NamedLiteral("second"));
+            contextConfig.bind(Dependency.class, third, new SkywalkerLiteral());
+
+            Context context = contextConfig.getContext();
+
+            assertEquals(List.of(first, second, third), context.get(new ComponentRef<List<Dependency>>() { }).get());
+            assertEquals(Set.of(first, second, third), context.get(new ComponentRef<Set<Dependency>>() { }).get());
+            assertEquals(List.of(second),
+                    context.get(new ComponentRef<List<Dependency>>(new NamedLiteral("second")) { }).get());
+        }
+
+        @Test
+        void should_retrieve_empty_list_if_no_binding_of_type() {
+            Context context = contextConfig.getContext();
+
+            assertEquals(List.of(), context.get(new ComponentRef<List<Dependency>>() { }).get());
+        }
+
+        static class Plugins {
+            final List<Dependency> plugins;
+
+            @Inject
+            public Plugins(List<Dependency> plugins) {
+                this.plugins = plugins;
+            }
+        }
+
+        @Singleton
+        static class SingletonPlugin implements Dependency { }
+
+        static class PrototypePlugin implements Dependency { }
+
+        @Test
+        void should_share_injected_list_if_every_member_is_singleton() {
+            Dependency instance = new Dependency() { };
+            contextConfig.bind(Dependency.class, instance);
+            contextConfig.bind(Dependency.class, SingletonPlugin.class, new NamedLiteral("singleton"));
+            contextConfig.bind(Plugins.class, Plugins.class);
+            Context context = contextConfig.getContext();
+
+            Plugins plugins = context.get(ComponentRef.of(Plugins.class)).get();
+
+            assertSame(plugins.plugins, context.get(ComponentRef.of(Plugins.class)).get().plugins);
+            assertSame(instance, plugins.plugins.get(0));
+            assertThrows(UnsupportedOperationException.class, () -> plugins.plugins.add(instance));
+        }
+
+        @Test
+        void should_inject_empty_list_if_no_binding_of_type() {
+            contextConfig.bind(Plugins.class, Plugins.class);
+
+            assertEquals(List.of(), contextConfig.getContext().get(ComponentRef.of(Plugins.class)).get().plugins);
+        }
+
+        @Test
+        void should_inject_list_if_every_member_is_qualified() {
+            Dependency first = new Dependency() { };
+            Dependency second = new Dependency() { };
+            contextConfig.bind(Dependency.class, first, new NamedLiteral("first"));
+            contextConfig.bind(Dependency.class, second, new SkywalkerLiteral());
+            contextConfig.bind(Plugins.class, Plugins.class);
+
+            assertEquals(List.of(first, second),
+                    contextConfig.getContext().get(ComponentRef.of(Plugins.class)).get().plugins);
+        }
+
+        @Test
+        void should_create_new_list_if_any_member_is_not_singleton() {
+            contextConfig.bind(Dependency.class, SingletonPlugin.class);
+            contextConfig.bind(Dependency.class, PrototypePlugin.class, new NamedLiteral("prototype"));
+            contextConfig.bind(Plugins.class, Plugins.class);
+            Context context = contextConfig.getContext();
+
+            List<Dependency> plugins = context.get(ComponentRef.of(Plugins.class)).get().plugins;
+            List<Dependency> another = context.get(ComponentRef.of(Plugins.class)).get().plugins;
+
+            assertSame(plugins.get(0), another.get(0));
+            assertNotSame(plugins.get(1), another.get(1));
+        }
+
+        @Test
+        void should_resolve_rebound_dependency_in_new_context() {
+            Dependency dependency = new Dependency() { };
+            Dependency rebound = new Dependency() { };
+            contextConfig.bind(Dependency.class, dependency);
+            contextConfig.bind(TestComponent.class, ConstructorInjection.class);
+            Context context = contextConfig.getContext();
+
+            contextConfig.bind(Dependency.class, rebound);
+            contextConfig.bind(AnotherDependency.class, new AnotherDependency() { });
+
+            assertSame(rebound,
+                    contextConfig.getContext().get(ComponentRef.of(TestComponent.class)).get().dependency());
+            assertSame(dependency, context.get(ComponentRef.of(TestComponent.class)).get().dependency());
+        }
+
+        @Test
+        void should_use_generated_factory_if_present() {
+            Dependency dependency = new Dependency() { };
+            contextConfig.bind(Dependency.class, dependency);
+            contextConfig.bind(TestComponent.class, FactoryGenerated.class);
+
+            TestComponent component = contextConfig.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+            assertTrue(((FactoryGenerated) component).generated);
+            assertSame(dependency, component.dependency());
+        }
+
+        @Test
+        void should_check_dependencies_declared_by_generated_factory() {
+            contextConfig.bind(TestComponent.class, FactoryGenerated.class);
+
+            DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class,
+                    () -> contextConfig.getContext());
+            assertEquals(Dependency.class, exception.getDependency().type());
+        }
+
+        @Singleton
+        @Skywalker
+        static class IndexedComponent {
+            @Inject
+            IndexedDependency dependency;
+        }
+
+        static class IndexedDependency { }
+
+        @Test
+        void should_bind_all_components_listed_in_index(@TempDir Path directory) throws Exception {
+            Path index = directory.resolve(ContextConfig.INDEX);
+            Files.createDirectories(index.getParent());
+            Files.writeString(index, IndexedComponent.class.getName() + "\t" + Skywalker.class.getName() + "\t"
+                    + Singleton.class.getName() + "\n" + IndexedDependency.class.getName() + "\t\t\n");
+
+            contextConfig.bindIndexed(new URLClassLoader(new URL[]{directory.toUri().toURL()},
+                    getClass().getClassLoader()));
+            Context context = contextConfig.getContext();
+
+            IndexedComponent component = context.get(ComponentRef.of(IndexedComponent.class, new SkywalkerLiteral()))
+                    .get();
+            assertSame(component,
+                    context.get(ComponentRef.of(IndexedComponent.class, new SkywalkerLiteral())).get());
+            assertNotNull(component.dependency);
+            assertFalse(context.get(ComponentRef.of(IndexedComponent.class)).isPresent());
+        }
+
+        @Lazy
+        static class IndexedLazyComponent {
+            @Inject
+            public IndexedLazyComponent(IndexedDependency dependency) { }
+        }
+
+        @Test
+        void should_bind_indexed_lazy_component_to_itself(@TempDir Path directory) throws Exception {
+            Path index = directory.resolve(ContextConfig.INDEX);
+            Files.createDirectories(index.getParent());
+            Files.writeString(index, IndexedLazyComponent.class.getName() + "\t\t\n"
+                    + IndexedDependency.class.getName() + "\t\t\n");
+
+            contextConfig.bindIndexed(new URLClassLoader(new URL[]{directory.toUri().toURL()},
+                    getClass().getClassLoader()));
+
+            assertEquals(IndexedLazyComponent.class, contextConfig.getContext()
+                    .get(ComponentRef.of(IndexedLazyComponent.class)).get().getClass());
         }
 
         @Nested
@@ -189,6 +438,36 @@ public class ContextTest {
                 assertSame(dependency, skywalker.dependency());
             }
 
+            @jakarta.inject.Named("canonical")
+            static class Canonical { }
+
+            @Test
+            void should_share_canonical_qualifier_between_literal_and_annotation() {
+                jakarta.inject.Named annotation = Canonical.class.getAnnotation(jakarta.inject.Named.class);
+
+                Component literal = new Component(TestComponent.class, new NamedLiteral("canonical"));
+                Component runtime = new Component(TestComponent.class, annotation);
+
+                assertSame(literal.qualifier(), runtime.qualifier());
+                assertEquals(literal, runtime);
+                assertEquals(literal.hashCode(), runtime.hashCode());
+            }
+
+            @Test
+            void should_not_keep_qualifier_only_used_for_lookup() throws InterruptedException {
+                NamedLiteral dynamic = new NamedLiteral("lookup-only");
+                WeakReference<NamedLiteral> interned = new WeakReference<>(dynamic);
+                assertFalse(contextConfig.getContext().get(ComponentRef.of(TestComponent.class, dynamic)).isPresent());
+
+                dynamic = null;
+                for (int i = 0; i < 10 && interned.get() != null; i++) {
+                    System.gc();
+                    Thread.sleep(10);
+                }
+
+                assertNull(interned.get());
+            }
+
             @Test
             void should_throw_exception_if_illegal_qualifier_given_to_instance() {
                 assertThrows(IllegalComponentException.class,
@@ -206,6 +485,90 @@ public class ContextTest {
         public class WithScope {
             static class NoSingleton { }
 
+            @Lazy
+            @Singleton
+            static class LazyComponent implements TestComponent {
+                static final AtomicInteger created = new AtomicInteger();
+                private final Dependency dependency;
+
+                @Inject
+                public LazyComponent(Dependency dependency) {
+                    created.incrementAndGet();
+                    this.dependency = dependency;
+                }
+
+                @Override
+                public Dependency dependency() {
+                    return dependency;
+                }
+            }
+
+            @Test
+            void should_create_lazy_component_on_first_method_call() {
+                LazyComponent.created.set(0);
+                Dependency dependency = new Dependency() { };
+                contextConfig.bind(Dependency.class, dependency);
+                contextConfig.bind(TestComponent.class, LazyComponent.class);
+                Context context = contextConfig.getContext();
+
+                TestComponent component = context.get(ComponentRef.of(TestComponent.class)).get();
+                assertSame(component, context.get(ComponentRef.of(TestComponent.class)).get());
+                assertEquals(0, LazyComponent.created.get());
+
+                assertSame(dependency, component.dependency());
+                assertSame(dependency, component.dependency());
+                assertEquals(1, LazyComponent.created.get());
+            }
+
+            @Test
+            void should_create_lazy_component_once_for_concurrent_calls() throws Exception {
+                LazyComponent.created.set(0);
+                contextConfig.bind(Dependency.class, new Dependency() { });
+                contextConfig.bind(TestComponent.class, LazyComponent.class);
+                TestComponent component = contextConfig.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+                ExecutorService executor = Executors.newFixedThreadPool(8);
+                try {
+                    CyclicBarrier barrier = new CyclicBarrier(8);
+                    List<Future<Dependency>> calls = new ArrayList<>();
+                    for (int i = 0; i < 8; i++) {
+                        calls.add(executor.submit(() -> {
+                            barrier.await();
+                            return component.dependency();
+                        }));
+                    }
+                    for (Future<Dependency> call : calls) {
+                        assertNotNull(call.get(5, TimeUnit.SECONDS));
+                    }
+                } finally {
+                    executor.shutdownNow();
+                }
+                assertEquals(1, LazyComponent.created.get());
+            }
+
+            @Lazy
+            static class LazyNoSingleton extends NoSingleton { }
+
+            @Test
+            void should_throw_exception_if_lazy_component_not_bound_to_interface() {
+                assertThrows(IllegalComponentException.class,
+                        () -> contextConfig.bind(NoSingleton.class, LazyNoSingleton.class));
+            }
+
+            @Test
+            void should_create_lazy_component_bound_to_itself_without_proxy() {
+                LazyComponent.created.set(0);
+                Dependency dependency = new Dependency() { };
+                contextConfig.bind(Dependency.class, dependency);
+                contextConfig.bind(LazyComponent.class, LazyComponent.class);
+
+                LazyComponent component = contextConfig.getContext().get(ComponentRef.of(LazyComponent.class)).get();
+
+                assertEquals(LazyComponent.class, component.getClass());
+                assertEquals(1, LazyComponent.created.get());
+                assertSame(dependency, component.dependency());
+            }
+
             @Test
             void should_not_be_singleton_scope_by_default() {
                 contextConfig.bind(NoSingleton.class, NoSingleton.class);
@@ -233,26 +596,219 @@ public class ContextTest {
                         context.get(ComponentRef.of(Dependency.class)).get());
             }
 
+            @ThreadScoped
+            static class ThreadScopedAnnotated { }
+
+            @Test
+            void should_create_one_instance_per_thread_for_thread_scoped_component() throws Exception {
+                contextConfig.bind(ThreadScopedAnnotated.class, ThreadScopedAnnotated.class);
+                Context context = contextConfig.getContext();
+                ComponentRef<ThreadScopedAnnotated> ref = ComponentRef.of(ThreadScopedAnnotated.class);
+
+                ThreadScopedAnnotated current = context.get(ref).get();
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+                try {
+                    ThreadScopedAnnotated other = executor.submit(() -> context.get(ref).get()).get();
+
+                    assertSame(current, context.get(ref).get());
+                    assertSame(other, executor.submit(() -> context.get(ref).get()).get());
+                    assertNotSame(current, other);
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
             @Test
             void should_bind_component_with_customize_scope_annotation() {
-                contextConfig.scope(Pooled.class, PooledInjectionProvider::new);
-                contextConfig.bind(NoSingleton.class, NoSingleton.class, new PooledLiteral());
+                contextConfig.scope(RoundRobin.class, RoundRobinInjectionProvider::new);
+                contextConfig.bind(NoSingleton.class, NoSingleton.class, new RoundRobinLiteral());
                 Context context = contextConfig.getContext();
-                assertEquals(PooledInjectionProvider.MAX, (long) IntStream.range(0, PooledInjectionProvider.MAX + 1)
+                assertEquals(RoundRobinInjectionProvider.MAX, (long) IntStream.range(0, RoundRobinInjectionProvider.MAX + 1)
                         .mapToObj(i -> context.get(ComponentRef.of(NoSingleton.class)).get())
                         .collect(Collectors.toSet())
                         .size());
             }
 
+            @Pooled(max = 2)
+            static class PooledComponent implements Reusable {
+                int resets;
+
+                @Override
+                public void reset() {
+                    resets++;
+                }
+            }
+
+            @Test
+            void should_reuse_released_pooled_instance_after_reset() {
+                contextConfig.bind(PooledComponent.class, PooledComponent.class);
+                Context context = contextConfig.getContext();
+                ComponentRef<PooledComponent> ref = ComponentRef.of(PooledComponent.class);
+
+                PooledComponent borrowed = context.get(ref).get();
+                context.release(ref, borrowed);
+
+                assertSame(borrowed, context.get(ref).get());
+                assertEquals(1, borrowed.resets);
+                assertNotSame(borrowed, context.get(ref).get());
+            }
+
+            @Test
+            void should_ignore_instance_released_twice() {
+                PooledScope scope = new PooledScope();
+                contextConfig.scope(Pooled.class, scope);
+                contextConfig.bind(PooledComponent.class, PooledComponent.class);
+                Context context = contextConfig.getContext();
+                ComponentRef<PooledComponent> ref = ComponentRef.of(PooledComponent.class);
+
+                PooledComponent borrowed = context.get(ref).get();
+                context.release(ref, borrowed);
+                context.release(ref, borrowed);
+
+                assertEquals(1, scope.size());
+                assertEquals(1, borrowed.resets);
+                assertSame(borrowed, context.get(ref).get());
+                assertNotSame(borrowed, context.get(ref).get());
+            }
+
+            @Test
+            void should_keep_at_most_max_idle_instances_and_count_borrows_and_misses() {
+                PooledScope scope = new PooledScope();
+                contextConfig.scope(Pooled.class, scope);
+                contextConfig.bind(PooledComponent.class, PooledComponent.class);
+                Context context = contextConfig.getContext();
+                ComponentRef<PooledComponent> ref = ComponentRef.of(PooledComponent.class);
+
+                List<PooledComponent> borrowed = IntStream.range(0, 3).mapToObj(i -> context.get(ref).get()).toList();
+                borrowed.forEach(instance -> context.release(ref, instance));
+                assertEquals(2, scope.size());
+
+                context.get(ref);
+                assertEquals(4, scope.borrows());
+                assertEquals(3, scope.misses());
+                assertEquals(1, scope.size());
+            }
+
+            @Test
+            void should_not_count_pool_of_rebound_component_once_unreachable() throws InterruptedException {
+                PooledScope scope = new PooledScope();
+                contextConfig.scope(Pooled.class, scope);
+                contextConfig.bind(PooledComponent.class, PooledComponent.class);
+                borrowAndRelease(contextConfig.getContext());
+                assertEquals(1, scope.size());
+
+                contextConfig.bind(PooledComponent.class, PooledComponent.class);
+                for (int i = 0; i < 10 && scope.size() != 0; i++) {
+                    System.gc();
+                    Thread.sleep(10);
+                }
+
+                assertEquals(0, scope.size());
+            }
+
+            private static void borrowAndRelease(Context context) {
+                ComponentRef<PooledComponent> ref = ComponentRef.of(PooledComponent.class);
+                context.release(ref, context.get(ref).get());
+            }
+
+            @Cached
+            static class CachedComponent { }
+
+            @Cached
+            static class AnotherCachedComponent { }
+
+            @Cached
+            static class FailingCachedComponent {
+                static boolean failing;
+
+                public FailingCachedComponent() {
+                    if (failing) {
+                        throw new IllegalStateException();
+                    }
+                }
+            }
+
+            @Test
+            void should_count_failed_refresh_and_retry_after_another_ttl() {
+                AtomicLong ticker = new AtomicLong();
+                List<Runnable> refreshes = new ArrayList<>();
+                CacheScope scope = new CacheScope(Duration.ofSeconds(10), 10, false, refreshes::add, ticker::get);
+                contextConfig.scope(Cached.class, scope);
+                contextConfig.bind(FailingCachedComponent.class, FailingCachedComponent.class);
+                Context context = contextConfig.getContext();
+                ComponentRef<FailingCachedComponent> ref = ComponentRef.of(FailingCachedComponent.class);
+                FailingCachedComponent.failing = false;
+                FailingCachedComponent first = context.get(ref).get();
+
+                FailingCachedComponent.failing = true;
+                ticker.set(Duration.ofSeconds(10).toNanos());
+                context.get(ref);
+                refreshes.get(0).run();
+
+                assertEquals(1, scope.refreshFailures());
+                assertSame(first, context.get(ref).get());
+                assertEquals(1, refreshes.size());
+
+                FailingCachedComponent.failing = false;
+                ticker.set(Duration.ofSeconds(20).toNanos());
+                context.get(ref);
+                assertEquals(2, refreshes.size());
+                refreshes.get(1).run();
+                assertNotSame(first, context.get(ref).get());
+            }
+
+            @Test
+            void should_return_cached_instance_and_refresh_after_ttl_without_blocking() {
+                AtomicLong ticker = new AtomicLong();
+                List<Runnable> refreshes = new ArrayList<>();
+                CacheScope scope = new CacheScope(Duration.ofSeconds(10), 10, false, refreshes::add, ticker::get);
+                contextConfig.scope(Cached.class, scope);
+                contextConfig.bind(CachedComponent.class, CachedComponent.class);
+                Context context = contextConfig.getContext();
+                ComponentRef<CachedComponent> ref = ComponentRef.of(CachedComponent.class);
+
+                CachedComponent first = context.get(ref).get();
+                assertSame(first, context.get(ref).get());
+
+                ticker.set(Duration.ofSeconds(10).toNanos());
+                assertSame(first, context.get(ref).get());
+                assertSame(first, context.get(ref).get());
+                assertEquals(1, refreshes.size());
+
+                refreshes.get(0).run();
+                assertNotSame(first, context.get(ref).get());
+                assertEquals(4, scope.hits());
+                assertEquals(1, scope.misses());
+            }
+
+            @Test
+            void should_evict_least_recently_used_instance_over_max_size() {
+                AtomicLong ticker = new AtomicLong();
+                CacheScope scope = new CacheScope(Duration.ofMinutes(1), 1, false, Runnable::run, ticker::get);
+                contextConfig.scope(Cached.class, scope);
+                contextConfig.bind(CachedComponent.class, CachedComponent.class);
+                contextConfig.bind(AnotherCachedComponent.class, AnotherCachedComponent.class);
+                Context context = contextConfig.getContext();
+
+                CachedComponent first = context.get(ComponentRef.of(CachedComponent.class)).get();
+                ticker.incrementAndGet();
+                context.get(ComponentRef.of(AnotherCachedComponent.class));
+
+                assertEquals(1, scope.evictions());
+                assertEquals(1, scope.size());
+                assertNotSame(first, context.get(ComponentRef.of(CachedComponent.class)).get());
+                assertEquals(3, scope.misses());
+            }
+
             @Test
             void should_throw_exception_if_multi_scope_provided() {
                 assertThrows(IllegalComponentException.class,
                         () -> contextConfig.bind(NoSingleton.class, NoSingleton.class, new SingletonLiteral(),
-                                new PooledLiteral()));
+                                new RoundRobinLiteral()));
             }
 
             @Singleton
-            @Pooled
+            @RoundRobin
             static class MultiScopeAnnotated {
             }
 
@@ -265,7 +821,138 @@ public class ContextTest {
             @Test
             void should_throw_exception_if_scope_undefined() {
                 assertThrows(IllegalComponentException.class,
-                        () -> contextConfig.bind(MultiScopeAnnotated.class, MultiScopeAnnotated.class, new PooledLiteral()));
+                        () -> contextConfig.bind(MultiScopeAnnotated.class, MultiScopeAnnotated.class, new RoundRobinLiteral()));
+            }
+
+            @Singleton
+            static class SlowSingleton {
+                static final AtomicInteger created = new AtomicInteger();
+
+                public SlowSingleton() throws InterruptedException {
+                    Thread.sleep(20);
+                    created.incrementAndGet();
+                }
+            }
+
+            @Test
+            void should_create_singleton_only_once_under_concurrent_first_access() throws Exception {
+                SlowSingleton.created.set(0);
+                contextConfig.bind(SlowSingleton.class, SlowSingleton.class);
+                Context context = contextConfig.getContext();
+
+                ExecutorService executor = Executors.newFixedThreadPool(16);
+                try {
+                    CountDownLatch start = new CountDownLatch(1);
+                    List<Future<SlowSingleton>> results = new ArrayList<>();
+                    for (int i = 0; i < 16; i++) {
+                        results.add(executor.submit(() -> {
+                            start.await();
+                            return context.get(ComponentRef.of(SlowSingleton.class)).get();
+                        }));
+                    }
+                    start.countDown();
+
+                    Set<SlowSingleton> instances = new HashSet<>();
+                    for (Future<SlowSingleton> result : results) {
+                        instances.add(result.get());
+                    }
+                    assertEquals(1, instances.size());
+                    assertEquals(1, SlowSingleton.created.get());
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
+            static CyclicBarrier warmUp;
+
+            @Singleton
+            static class WarmUpDependency implements Dependency {
+                public WarmUpDependency() throws Exception {
+                    warmUp.await(5, TimeUnit.SECONDS);
+                }
+            }
+
+            @Singleton
+            static class WarmUpAnotherDependency implements AnotherDependency {
+                public WarmUpAnotherDependency() throws Exception {
+                    warmUp.await(5, TimeUnit.SECONDS);
+                }
+            }
+
+            @Singleton
+            static class WarmUpComponent implements TestComponent {
+                static final AtomicInteger created = new AtomicInteger();
+                private final Dependency dependency;
+
+                @Inject
+                public WarmUpComponent(Dependency dependency, AnotherDependency anotherDependency) {
+                    this.dependency = dependency;
+                    created.incrementAndGet();
+                }
+
+                @Override
+                public Dependency dependency() {
+                    return dependency;
+                }
+            }
+
+            @Test
+            void should_create_independent_singletons_concurrently_when_warming_up() {
+                warmUp = new CyclicBarrier(2);
+                WarmUpComponent.created.set(0);
+                contextConfig.bind(Dependency.class, WarmUpDependency.class);
+                contextConfig.bind(AnotherDependency.class, WarmUpAnotherDependency.class);
+                contextConfig.bind(TestComponent.class, WarmUpComponent.class);
+
+                ExecutorService executor = Executors.newFixedThreadPool(2);
+                try {
+                    Context context = contextConfig.getEagerContext(executor);
+
+                    assertEquals(1, WarmUpComponent.created.get());
+                    TestComponent component = context.get(ComponentRef.of(TestComponent.class)).get();
+                    assertSame(context.get(ComponentRef.of(Dependency.class)).get(), component.dependency());
+                    assertEquals(1, WarmUpComponent.created.get());
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
+            @Test
+            void should_not_create_prototype_when_warming_up() {
+                contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+                contextConfig.bind(Dependency.class, SingletonAnnotated.class);
+
+                Context context = contextConfig.getEagerContext(Runnable::run);
+
+                assertNotSame(context.get(ComponentRef.of(TestComponent.class)).get(),
+                        context.get(ComponentRef.of(TestComponent.class)).get());
+                assertSame(context.get(ComponentRef.of(TestComponent.class)).get().dependency(),
+                        context.get(ComponentRef.of(Dependency.class)).get());
+            }
+
+            @Singleton
+            static class ProviderCycleComponent implements TestComponent {
+                @Inject
+                public ProviderCycleComponent(Provider<Dependency> dependency) {
+                    dependency.get();
+                }
+            }
+
+            @Singleton
+            static class ProviderCycleDependency implements Dependency {
+                @Inject
+                public ProviderCycleDependency(TestComponent component) {
+                }
+            }
+
+            @Test
+            void should_throw_exception_if_singleton_required_while_creating_itself_through_provider() {
+                contextConfig.bind(TestComponent.class, ProviderCycleComponent.class);
+                contextConfig.bind(Dependency.class, ProviderCycleDependency.class);
+                Context context = contextConfig.getContext();
+
+                assertThrows(CyclicDependenciesException.class,
+                        () -> context.get(ComponentRef.of(TestComponent.class)));
             }
 
             @Nested
@@ -324,6 +1011,59 @@ public class ContextTest {
                     Arguments.of(Named.of("Provider Scope", MissDependencyProviderScoped.class)));
         }
 
+        @Test
+        void should_check_bindings_added_after_context_created() {
+            contextConfig.bind(AnotherDependency.class, new AnotherDependency() { });
+            contextConfig.getContext();
+            contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+
+            DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class,
+                    () -> contextConfig.getContext());
+            assertEquals(Dependency.class, exception.getDependency().type());
+        }
+
+        @Test
+        void should_check_again_after_failed_check() {
+            contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+            assertThrows(DependencyNotFoundException.class, () -> contextConfig.getContext());
+
+            contextConfig.bind(AnotherDependency.class, new AnotherDependency() { });
+
+            assertThrows(DependencyNotFoundException.class, () -> contextConfig.getContext());
+
+            contextConfig.bind(Dependency.class, new Dependency() { });
+
+            assertTrue(contextConfig.getContext().get(ComponentRef.of(TestComponent.class)).isPresent());
+        }
+
+        static class CyclicPlugins implements TestComponent {
+            @Inject
+            public CyclicPlugins(List<Dependency> plugins) { }
+        }
+
+        @Test
+        void should_throw_exception_if_cyclic_dependencies_through_list() {
+            contextConfig.bind(TestComponent.class, CyclicPlugins.class);
+            contextConfig.bind(Dependency.class, CyclicDependencyInjectConstructor.class, new NamedLiteral("plugin"));
+
+            CyclicDependenciesException exception = assertThrows(CyclicDependenciesException.class,
+                    () -> contextConfig.getContext());
+            assertEquals(Set.of(TestComponent.class, Dependency.class), exception.getComponents());
+        }
+
+        @Test
+        void should_check_cycle_closed_by_rebinding_after_context_created() {
+            contextConfig.bind(TestComponent.class, CyclicComponentInjectConstructor.class);
+            contextConfig.bind(Dependency.class, new Dependency() { });
+            contextConfig.getContext();
+
+            contextConfig.bind(Dependency.class, CyclicDependencyInjectConstructor.class);
+
+            CyclicDependenciesException exception = assertThrows(CyclicDependenciesException.class,
+                    () -> contextConfig.getContext());
+            assertEquals(Set.of(TestComponent.class, Dependency.class), exception.getComponents());
+        }
+
         @Singleton
         static class MissDependencyScoped implements Dependency {
             @Inject
@@ -635,6 +1375,573 @@ public class ContextTest {
             }
         }
     }
+
+    @Nested
+    public class WithRecording {
+        @TempDir
+        Path directory;
+
+        static class RecordedDependency implements Dependency { }
+
+        @Singleton
+        static class RecordedComponent implements TestComponent {
+            @Inject
+            Dependency dependency;
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @Test
+        void should_record_component_creation_with_depth_and_cache_hit() throws Exception {
+            contextConfig.bind(Dependency.class, RecordedDependency.class);
+            contextConfig.bind(TestComponent.class, RecordedComponent.class);
+            Path file = directory.resolve("di.jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable(ComponentCreationEvent.class).withThreshold(Duration.ZERO);
+                recording.enable(ContextCreationEvent.class).withThreshold(Duration.ZERO);
+                recording.start();
+                Context context = contextConfig.getContext();
+                context.get(ComponentRef.of(TestComponent.class));
+                context.get(ComponentRef.of(TestComponent.class));
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> creations = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("arthas.tdd.di.ComponentCreation"))
+                    .toList();
+            assertEquals(List.of(TestComponent.class.getName(), Dependency.class.getName(),
+                    TestComponent.class.getName()), creations.stream()
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                    .map(event -> event.getClass("componentType").getName())
+                    .toList());
+            assertEquals(List.of(0, 1, 0), creations.stream()
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                    .map(event -> event.getInt("depth"))
+                    .toList());
+            assertEquals(List.of(false, false, true), creations.stream()
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                    .map(event -> event.getBoolean("cacheHit"))
+                    .toList());
+            assertTrue(creations.stream().allMatch(event -> event.getString("qualifier") == null));
+            assertTrue(RecordingFile.readAllEvents(file).stream()
+                    .anyMatch(event -> event.getEventType().getName().equals("arthas.tdd.di.ContextCreation")
+                            && event.getInt("components") == 2 && event.getBoolean("validated")));
+        }
+
+        @Test
+        void should_keep_scope_of_qualifier_still_sharing_rebound_provider() throws Exception {
+            contextConfig.bind(Dependency.class, RecordedDependency.class);
+            contextConfig.bind(TestComponent.class, RecordedComponent.class, new NamedLiteral("first"),
+                    new SkywalkerLiteral());
+            contextConfig.bind(TestComponent.class, RecordedComponent.class, new NamedLiteral("first"));
+            Context context = contextConfig.getContext();
+
+            List<RecordedEvent> creations = creations(
+                    () -> context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())));
+
+            assertEquals("Singleton", creations.get(0).getString("scope"));
+        }
+
+        @Test
+        void should_record_singletons_created_by_eager_context() throws Exception {
+            contextConfig.bind(Dependency.class, RecordedDependency.class);
+            contextConfig.bind(TestComponent.class, RecordedComponent.class);
+
+            List<RecordedEvent> creations = creations(() -> contextConfig.getEagerContext(Runnable::run));
+
+            assertEquals(List.of(TestComponent.class.getName(), Dependency.class.getName()), creations.stream()
+                    .map(event -> event.getClass("componentType").getName())
+                    .toList());
+            assertEquals(List.of("Singleton", "Prototype"), creations.stream()
+                    .map(event -> event.getString("scope"))
+                    .toList());
+            assertEquals(List.of(0, 1), creations.stream().map(event -> event.getInt("depth")).toList());
+        }
+
+        @Lazy
+        static class RecordedLazyComponent implements TestComponent {
+            @Inject
+            Dependency dependency;
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @Test
+        void should_record_instance_created_behind_lazy_proxy() throws Exception {
+            contextConfig.bind(Dependency.class, RecordedDependency.class);
+            contextConfig.bind(TestComponent.class, RecordedLazyComponent.class);
+            Context context = contextConfig.getContext();
+
+            List<RecordedEvent> creations = creations(
+                    () -> context.get(ComponentRef.of(TestComponent.class)).get().dependency());
+
+            assertEquals(List.of("Prototype", "Lazy", "Prototype"), creations.stream()
+                    .map(event -> event.getString("scope"))
+                    .toList());
+            assertEquals(List.of(TestComponent.class.getName(), TestComponent.class.getName(),
+                    Dependency.class.getName()), creations.stream()
+                    .map(event -> event.getClass("componentType").getName())
+                    .toList());
+            assertEquals(List.of(0, 0, 1), creations.stream().map(event -> event.getInt("depth")).toList());
+        }
+
+        private List<RecordedEvent> creations(Runnable action) throws Exception {
+            Path file = directory.resolve("creations.jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable(ComponentCreationEvent.class).withThreshold(Duration.ZERO);
+                recording.start();
+                action.run();
+                recording.stop();
+                recording.dump(file);
+            }
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("arthas.tdd.di.ComponentCreation"))
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                    .toList();
+        }
+    }
+
+    @Nested
+    public class WithAsync {
+        static CyclicBarrier barrier;
+
+        static class SlowDependency implements Dependency {
+            @Inject
+            public SlowDependency(Shared shared) throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        static class SlowAnotherDependency implements AnotherDependency {
+            @Inject
+            public SlowAnotherDependency(Shared shared) throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        @Singleton
+        static class Shared {
+            static final AtomicInteger created = new AtomicInteger();
+
+            public Shared() {
+                created.incrementAndGet();
+            }
+        }
+
+        static class FanOut implements TestComponent {
+            private final Dependency dependency;
+
+            @Inject
+            public FanOut(Dependency dependency, AnotherDependency another, Provider<Shared> shared) {
+                this.dependency = dependency;
+            }
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @Test
+        void should_create_independent_dependencies_concurrently_and_singleton_once() throws Exception {
+            barrier = new CyclicBarrier(2);
+            Shared.created.set(0);
+            contextConfig.bind(Shared.class, Shared.class);
+            contextConfig.bind(Dependency.class, SlowDependency.class);
+            contextConfig.bind(AnotherDependency.class, SlowAnotherDependency.class);
+            contextConfig.bind(TestComponent.class, FanOut.class);
+            Context context = contextConfig.getContext();
+
+            ExecutorService executor = Executors.newCachedThreadPool();
+            try {
+                TestComponent component = context.getAsync(ComponentRef.of(TestComponent.class), executor)
+                        .get(10, TimeUnit.SECONDS)
+                        .get();
+                assertInstanceOf(SlowDependency.class, component.dependency());
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, Shared.created.get());
+        }
+
+        @Test
+        void should_create_singleton_once_for_racing_async_resolutions() throws Exception {
+            Shared.created.set(0);
+            contextConfig.bind(Shared.class, Shared.class);
+            Context context = contextConfig.getContext();
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<CompletableFuture<Optional<Shared>>> futures = IntStream.range(0, 32)
+                        .mapToObj(i -> context.getAsync(ComponentRef.of(Shared.class), executor))
+                        .toList();
+                assertEquals(1, futures.stream().map(CompletableFuture::join).map(Optional::get).distinct().count());
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, Shared.created.get());
+        }
+
+        @ThreadScoped
+        static class PerThread { }
+
+        @Test
+        void should_return_thread_scoped_instance_of_calling_thread() throws Exception {
+            contextConfig.bind(PerThread.class, PerThread.class);
+            Context context = contextConfig.getContext();
+            ComponentRef<PerThread> ref = ComponentRef.of(PerThread.class);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertSame(context.get(ref).get(), context.getAsync(ref, executor).get(5, TimeUnit.SECONDS).get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        static class CountedDependency {
+            static final AtomicInteger created = new AtomicInteger();
+
+            public CountedDependency() {
+                created.incrementAndGet();
+            }
+        }
+
+        @Pooled
+        static class PooledWithDependency {
+            @Inject
+            public PooledWithDependency(CountedDependency dependency) { }
+        }
+
+        @Test
+        void should_not_create_dependencies_for_pooled_instance_reused() throws Exception {
+            contextConfig.bind(CountedDependency.class, CountedDependency.class);
+            contextConfig.bind(PooledWithDependency.class, PooledWithDependency.class);
+            Context context = contextConfig.getContext();
+            ComponentRef<PooledWithDependency> ref = ComponentRef.of(PooledWithDependency.class);
+            PooledWithDependency idle = context.get(ref).get();
+            context.release(ref, idle);
+            CountedDependency.created.set(0);
+
+            assertSame(idle, context.getAsync(ref).get(5, TimeUnit.SECONDS).get());
+            assertEquals(0, CountedDependency.created.get());
+        }
+
+        @Test
+        void should_complete_with_empty_if_component_not_defined() throws Exception {
+            Context context = contextConfig.getContext();
+
+            assertFalse(context.getAsync(ComponentRef.of(TestComponent.class)).get(5, TimeUnit.SECONDS).isPresent());
+        }
+    }
+
+    @Nested
+    public class WithProfile {
+        @TempDir
+        Path directory;
+
+        static class ProfiledDependency implements Dependency { }
+
+        static class ProfiledComponent implements TestComponent {
+            @Inject
+            public ProfiledComponent(Dependency dependency, AnotherDependency another) { }
+        }
+
+        @Test
+        void should_record_creation_tree_and_critical_path() throws Exception {
+            StartupProfile profile = new StartupProfile();
+            contextConfig.profile(profile);
+            contextConfig.bind(Dependency.class, ProfiledDependency.class);
+            contextConfig.bind(AnotherDependency.class, new AnotherDependency() { });
+            contextConfig.bind(TestComponent.class, ProfiledComponent.class);
+
+            contextConfig.getContext().get(ComponentRef.of(TestComponent.class));
+
+            assertEquals(1, profile.roots().size());
+            StartupProfile.Call root = profile.roots().get(0);
+            assertEquals(TestComponent.class, root.component().type());
+            assertEquals(List.of(Dependency.class, AnotherDependency.class),
+                    root.children().stream().map(call -> call.component().type()).toList());
+            assertTrue(root.children().stream().allMatch(call -> call.start() >= root.start() && call.end() <= root.end()));
+            assertEquals(2, profile.criticalPath().size());
+            assertSame(root, profile.criticalPath().get(1));
+
+            Path file = directory.resolve("startup.json");
+            profile.write(file);
+            String json = Files.readString(file);
+            assertTrue(json.startsWith("{\"roots\":[{\"type\":\"" + TestComponent.class.getName() + "\""));
+            assertTrue(json.lastIndexOf("{\"type\":\"" + TestComponent.class.getName() + "\"")
+                    > json.indexOf("\"criticalPath\":[{\"type\":"));
+        }
+
+        @Singleton
+        static class ProfiledSingletonDependency implements Dependency { }
+
+        @Singleton
+        static class SlowSingletonComponent implements TestComponent {
+            @Inject
+            public SlowSingletonComponent(Dependency dependency) throws InterruptedException {
+                Thread.sleep(20);
+            }
+        }
+
+        @Test
+        void should_record_singletons_created_by_eager_context() {
+            StartupProfile profile = new StartupProfile();
+            contextConfig.profile(profile);
+            contextConfig.bind(Dependency.class, ProfiledSingletonDependency.class);
+            contextConfig.bind(TestComponent.class, SlowSingletonComponent.class);
+
+            contextConfig.getEagerContext(Runnable::run);
+
+            assertEquals(List.of(Dependency.class, TestComponent.class),
+                    profile.roots().stream().map(call -> call.component().type()).toList());
+            assertEquals(List.of(profile.roots().get(0), profile.roots().get(1)), profile.criticalPath());
+        }
+
+        @Singleton
+        static class SlowSingletonDependency implements Dependency {
+            public SlowSingletonDependency() throws InterruptedException {
+                Thread.sleep(60);
+            }
+        }
+
+        @Test
+        void should_follow_slow_dependency_created_in_earlier_wave() {
+            StartupProfile profile = new StartupProfile();
+            contextConfig.profile(profile);
+            contextConfig.bind(Dependency.class, SlowSingletonDependency.class);
+            contextConfig.bind(TestComponent.class, SlowSingletonComponent.class);
+
+            contextConfig.getEagerContext(Runnable::run);
+
+            List<StartupProfile.Call> path = profile.criticalPath();
+            assertEquals(List.of(Dependency.class, TestComponent.class),
+                    path.stream().map(call -> call.component().type()).toList());
+            assertTrue(path.get(0).duration() >= TimeUnit.MILLISECONDS.toNanos(60));
+        }
+
+        @Test
+        void should_not_record_in_context_built_after_profiling_stopped() {
+            StartupProfile profile = new StartupProfile();
+            contextConfig.bind(Dependency.class, ProfiledDependency.class);
+            contextConfig.profile(profile);
+            Context profiled = contextConfig.getContext();
+            contextConfig.profile(null);
+
+            contextConfig.getContext().get(ComponentRef.of(Dependency.class));
+            assertTrue(profile.roots().isEmpty());
+
+            profiled.get(ComponentRef.of(Dependency.class));
+            assertEquals(1, profile.roots().size());
+        }
+    }
+
+    @Nested
+    public class WithRebinding {
+        @Singleton
+        static class SingletonComponent implements TestComponent {
+            private final Dependency dependency;
+
+            @Inject
+            public SingletonComponent(Dependency dependency) {
+                this.dependency = dependency;
+            }
+
+            @Override
+            public Dependency dependency() {
+                return dependency;
+            }
+        }
+
+        @Singleton
+        static class TransitiveSingleton {
+            @Inject
+            TestComponent component;
+        }
+
+        @Singleton
+        static class UnrelatedSingleton {
+            @Inject
+            AnotherDependency another;
+        }
+
+        @Singleton
+        static class AllDependencies {
+            @Inject
+            List<Dependency> dependencies;
+        }
+
+        @Test
+        void should_recreate_only_singletons_depending_on_rebound_component() {
+            Dependency dependency = new Dependency() { };
+            Dependency rebound = new Dependency() { };
+            contextConfig.bind(Dependency.class, dependency);
+            contextConfig.bind(AnotherDependency.class, new AnotherDependency() { });
+            contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+            contextConfig.bind(TransitiveSingleton.class, TransitiveSingleton.class);
+            contextConfig.bind(UnrelatedSingleton.class, UnrelatedSingleton.class);
+            Context context = contextConfig.getContext();
+            TransitiveSingleton transitive = context.get(ComponentRef.of(TransitiveSingleton.class)).get();
+            UnrelatedSingleton unrelated = context.get(ComponentRef.of(UnrelatedSingleton.class)).get();
+
+            contextConfig.bind(Dependency.class, rebound);
+            Context reboundContext = contextConfig.getContext();
+
+            assertSame(rebound, reboundContext.get(ComponentRef.of(TransitiveSingleton.class)).get().component
+                    .dependency());
+            assertSame(unrelated, reboundContext.get(ComponentRef.of(UnrelatedSingleton.class)).get());
+            assertSame(transitive, context.get(ComponentRef.of(TransitiveSingleton.class)).get());
+        }
+
+        @Test
+        void should_share_recreated_singleton_between_qualifiers_bound_together() {
+            contextConfig.bind(Dependency.class, new Dependency() { });
+            contextConfig.bind(TestComponent.class, SingletonComponent.class, new NamedLiteral("one"),
+                    new NamedLiteral("two"));
+            contextConfig.getContext();
+
+            Dependency rebound = new Dependency() { };
+            contextConfig.bind(Dependency.class, rebound);
+            Context context = contextConfig.getContext();
+
+            TestComponent one = context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("one"))).get();
+            assertSame(rebound, one.dependency());
+            assertSame(one, context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("two"))).get());
+        }
+
+        @Test
+        void should_recreate_singleton_injected_with_list_when_binding_added() {
+            Dependency first = new Dependency() { };
+            Dependency second = new Dependency() { };
+            contextConfig.bind(Dependency.class, first);
+            contextConfig.bind(AllDependencies.class, AllDependencies.class);
+            assertEquals(List.of(first),
+                    contextConfig.getContext().get(ComponentRef.of(AllDependencies.class)).get().dependencies);
+
+            contextConfig.bind(Dependency.class, second, new NamedLiteral("second"));
+
+            assertEquals(List.of(first, second),
+                    contextConfig.getContext().get(ComponentRef.of(AllDependencies.class)).get().dependencies);
+        }
+    }
+
+    @Nested
+    public class WithChild {
+        @Test
+        void should_get_local_instance_from_child_and_delegate_others_to_parent() {
+            Dependency dependency = new Dependency() { };
+            contextConfig.bind(Dependency.class, dependency);
+            contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+            Context parent = contextConfig.getContext();
+
+            AnotherDependency local = new AnotherDependency() { };
+            Context child = new ChildContext(parent).bind(AnotherDependency.class, local);
+
+            assertSame(local, child.get(ComponentRef.of(AnotherDependency.class)).get());
+            assertSame(local, child.get(new ComponentRef<Provider<AnotherDependency>>() { }).get().get());
+            assertSame(dependency, child.get(ComponentRef.of(TestComponent.class)).get().dependency());
+            assertFalse(parent.get(ComponentRef.of(AnotherDependency.class)).isPresent());
+        }
+
+        @Test
+        void should_shadow_parent_binding_in_child() {
+            Dependency dependency = new Dependency() { };
+            contextConfig.bind(Dependency.class, dependency);
+            contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+            Context parent = contextConfig.getContext();
+            Dependency local = new Dependency() { };
+
+            Context child = new ChildContext(parent).bind(Dependency.class, local);
+
+            assertSame(local, child.get(ComponentRef.of(Dependency.class)).get());
+            assertSame(local, child.get(ComponentRef.of(TestComponent.class)).get().dependency());
+            assertSame(local, child.get(new ComponentRef<Provider<TestComponent>>() { }).get().get().dependency());
+            assertSame(dependency, parent.get(ComponentRef.of(TestComponent.class)).get().dependency());
+        }
+
+        @Test
+        void should_keep_resolving_parent_singleton_in_parent() {
+            Dependency dependency = new Dependency() { };
+            contextConfig.bind(Dependency.class, dependency);
+            contextConfig.bind(TestComponent.class, WithRebinding.SingletonComponent.class);
+
+            Context child = new ChildContext(contextConfig.getContext()).bind(Dependency.class, new Dependency() { });
+
+            assertSame(dependency, child.get(ComponentRef.of(TestComponent.class)).get().dependency());
+        }
+
+        @Test
+        void should_create_local_component_with_dependencies_from_child_and_parent() {
+            contextConfig.bind(AnotherDependency.class, new AnotherDependency() { });
+            Dependency local = new Dependency() { };
+
+            Context child = new ChildContext(contextConfig.getContext())
+                    .bind(Dependency.class, local)
+                    .bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+
+            TestComponent component = child.get(ComponentRef.of(TestComponent.class)).get();
+            assertSame(local, component.dependency());
+            assertNotSame(component, child.get(ComponentRef.of(TestComponent.class)).get());
+        }
+
+        @Test
+        void should_throw_exception_if_dependency_of_local_component_not_found() {
+            Context child = new ChildContext(contextConfig.getContext())
+                    .bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+
+            DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class,
+                    () -> child.get(ComponentRef.of(TestComponent.class)));
+            assertEquals(Dependency.class, exception.getDependency().type());
+        }
+
+        @Test
+        void should_throw_exception_if_local_component_closes_cycle_through_parent_prototype() {
+            contextConfig.bind(Dependency.class, new Dependency() { });
+            contextConfig.bind(TestComponent.class, TypeBinding.ConstructorInjection.class);
+
+            Context child = new ChildContext(contextConfig.getContext())
+                    .bind(Dependency.class, DependencyCheck.CyclicDependencyInjectConstructor.class);
+
+            CyclicDependenciesException exception = assertThrows(CyclicDependenciesException.class,
+                    () -> child.get(ComponentRef.of(TestComponent.class)));
+            assertEquals(Set.of(TestComponent.class, Dependency.class), exception.getComponents());
+        }
+
+        @Test
+        void should_throw_exception_if_scoped_class_bound_in_child() {
+            ChildContext child = new ChildContext(contextConfig.getContext());
+
+            assertThrows(IllegalComponentException.class,
+                    () -> child.bind(TestComponent.class, WithRebinding.SingletonComponent.class));
+        }
+
+        @Test
+        void should_bind_local_instance_with_qualifier() {
+            Dependency local = new Dependency() { };
+
+            Context child = new ChildContext(contextConfig.getContext())
+                    .bind(Dependency.class, local, new NamedLiteral("tenant"));
+
+            assertSame(local, child.get(ComponentRef.of(Dependency.class, new NamedLiteral("tenant"))).get());
+            assertFalse(child.get(ComponentRef.of(Dependency.class)).isPresent());
+        }
+
+        @Test
+        void should_throw_exception_if_illegal_qualifier_given_to_child() {
+            ChildContext child = new ChildContext(contextConfig.getContext());
+
+            assertThrows(IllegalComponentException.class,
+                    () -> child.bind(Dependency.class, new Dependency() { }, new TestLiteral()));
+        }
+    }
 }
 
 record NamedLiteral(String value) implements jakarta.inject.Named {
@@ -692,22 +1999,22 @@ record SingletonLiteral() implements Singleton {
 @Scope
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
-@interface Pooled { }
+@interface RoundRobin { }
 
-record PooledLiteral() implements Pooled {
+record RoundRobinLiteral() implements RoundRobin {
     @Override
     public Class<? extends Annotation> annotationType() {
-        return Pooled.class;
+        return RoundRobin.class;
     }
 }
 
-class PooledInjectionProvider<T> implements ComponentProvider<T> {
+class RoundRobinInjectionProvider<T> implements ComponentProvider<T> {
     static int MAX = 2;
     int current = 0;
     private List<T> pool = new ArrayList<>();
     private ComponentProvider<T> provider;
 
-    public PooledInjectionProvider(ComponentProvider<T> provider) {
+    public RoundRobinInjectionProvider(ComponentProvider<T> provider) {
         this.provider = provider;
     }
 
@@ -723,4 +2030,35 @@ class PooledInjectionProvider<T> implements ComponentProvider<T> {
     public List<ComponentRef<?>> getDependencies() {
         return provider.getDependencies();
     }
-}
\ No newline at end of file
+}
+
+class FactoryGenerated implements TestComponent {
+    private final Dependency dependency;
+    boolean generated;
+
+    @Inject
+    public FactoryGenerated(Dependency dependency) {
+        this.dependency = dependency;
+    }
+
+    @Override
+    public Dependency dependency() {
+        return dependency;
+    }
+}
+
+class FactoryGenerated_Factory implements ComponentProvider<FactoryGenerated> {
+    private final ComponentRef<Dependency> dependency = ComponentRef.of(Dependency.class);
+
+    @Override
+    public FactoryGenerated get(Context context) {
+        FactoryGenerated instance = new FactoryGenerated(context.get(dependency).get());
+        instance.generated = true;
+        return instance;
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return List.of(dependency);
+    }
+}
@@ -0,0 +1,110 @@
+package arthas.tdd.di;
+
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphTest {
+
+    @Test
+    void should_validate_long_dependency_chain_without_overflowing_stack() {
+        assertDoesNotThrow(() -> DependencyGraph.check(chain(100_000)));
+    }
+
+    @Test
+    void should_report_every_missing_dependency_and_every_cycle() {
+        Map<Component, ComponentProvider<?>> components = new HashMap<>();
+        components.put(component(0), new Node(ref(1)));
+        components.put(component(1), new Node(ref(0)));
+        components.put(component(2), new Node(ref(3)));
+        components.put(component(3), new Node(ref(2)));
+        components.put(component(4), new Node(ref(4)));
+        components.put(component(5), new Node(ref(100)));
+        components.put(component(6), new Node(ref(101)));
+
+        DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class,
+                () -> DependencyGraph.check(components));
+
+        List<Throwable> problems = Stream.concat(Stream.of(exception), Arrays.stream(exception.getSuppressed()))
+                .toList();
+        assertEquals(Set.of(component(100), component(101)), problems.stream()
+                .filter(DependencyNotFoundException.class::isInstance)
+                .map(problem -> ((DependencyNotFoundException) problem).getDependency())
+                .collect(Collectors.toSet()));
+        assertEquals(3, problems.stream().filter(CyclicDependenciesException.class::isInstance).count());
+    }
+
+    @Test
+    void should_not_treat_provider_dependency_as_cycle() {
+        Map<Component, ComponentProvider<?>> components = new HashMap<>();
+        components.put(component(0), new Node(ref(1)));
+        components.put(component(1), new Node(new ComponentRef<Provider<Dependency>>(new NamedLiteral("0")) { }));
+
+        assertDoesNotThrow(() -> DependencyGraph.check(components));
+    }
+
+    // 旧的逐个 DFS 在链状依赖上会反复展开同一个组件；耗时的增长见 ValidationBenchmark.chain
+    @Test
+    void should_expand_each_component_once() {
+        AtomicInteger expanded = new AtomicInteger();
+        Map<Component, ComponentProvider<?>> components = new HashMap<>();
+        chain(10_000).forEach((component, node) -> components.put(component, new ComponentProvider<>() {
+            @Override
+            public Object get(Context context) {
+                return null;
+            }
+
+            @Override
+            public List<ComponentRef<?>> getDependencies() {
+                expanded.incrementAndGet();
+                return node.getDependencies();
+            }
+        }));
+
+        DependencyGraph.check(components);
+
+        assertEquals(10_000, expanded.get());
+    }
+
+    private static Map<Component, ComponentProvider<?>> chain(int size) {
+        Map<Component, ComponentProvider<?>> components = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            components.put(component(i), i + 1 < size ? new Node(ref(i + 1)) : new Node());
+        }
+        return components;
+    }
+
+    private static Component component(int index) {
+        return new Component(Dependency.class, new NamedLiteral(String.valueOf(index)));
+    }
+
+    private static ComponentRef<Dependency> ref(int index) {
+        return ComponentRef.of(Dependency.class, new NamedLiteral(String.valueOf(index)));
+    }
+
+    record Node(List<ComponentRef<?>> dependencies) implements ComponentProvider<Object> {
+        Node(ComponentRef<?>... dependencies) {
+            this(List.of(dependencies));
+        }
+
+        @Override
+        public Object get(Context context) {
+            return null;
+        }
+
+        @Override
+        public List<ComponentRef<?>> getDependencies() {
+            return dependencies;
+        }
+    }
+}
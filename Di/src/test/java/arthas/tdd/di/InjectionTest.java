@@ -3,6 +3,7 @@ package arthas.tdd.di;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,7 @@ public class InjectionTest {
         when(context.get(eq(ComponentRef.of(Dependency.class)))).thenReturn(Optional.of(dependency));
 
         when(context.get(eq(ComponentRef.of(providerType)))).thenReturn(Optional.of(dependencyProvider));
+        when(context.require(any())).thenCallRealMethod();
     }
 
     @Nested
@@ -57,6 +59,44 @@ public class InjectionTest {
                 assertSame(dependency, instance.dependency);
             }
 
+            static class ScannedOnce {
+                @Inject
+                Dependency dependency;
+            }
+
+            @Test
+            void should_scan_component_only_once_for_all_providers() {
+                long misses = ComponentMetadata.misses();
+                long hits = ComponentMetadata.hits();
+
+                InjectionProvider<ScannedOnce> first = new InjectionProvider<>(ScannedOnce.class);
+                InjectionProvider<ScannedOnce> second = new InjectionProvider<>(ScannedOnce.class);
+
+                assertEquals(misses + 1, ComponentMetadata.misses());
+                assertEquals(hits + 1, ComponentMetadata.hits());
+                assertSame(dependency, first.get(context).dependency);
+                assertSame(dependency, second.get(context).dependency);
+                assertNotSame(first.getDependencies().get(0), second.getDependencies().get(0));
+            }
+
+            @Singleton
+            static class ScopedScannedOnce {
+                @Inject
+                Dependency dependency;
+            }
+
+            @Test
+            void should_count_only_injection_metadata_lookups() {
+                long misses = ComponentMetadata.misses();
+                long hits = ComponentMetadata.hits();
+
+                ComponentMetadata.scopesOf(ScopedScannedOnce.class);
+                new InjectionProvider<>(ScopedScannedOnce.class);
+
+                assertEquals(misses + 1, ComponentMetadata.misses());
+                assertEquals(hits, ComponentMetadata.hits());
+            }
+
             @Test
             void should_include_dependencies_from_inject_constructor() {
                 InjectionProvider<InjectConstructor> provider = new InjectionProvider<>(InjectConstructor.class);
@@ -136,6 +176,7 @@ public class InjectionTest {
             @BeforeEach
             void setUp() {
                 reset(context);
+                when(context.require(any())).thenCallRealMethod();
                 when(context.get(eq(ComponentRef.of(Dependency.class, new NamedLiteral("chooseOne"))))).thenReturn(
                         Optional.of(dependency));
             }
@@ -248,6 +289,7 @@ public class InjectionTest {
             @BeforeEach
             void setUp() {
                 reset(context);
+                when(context.require(any())).thenCallRealMethod();
                 when(context.get(eq(ComponentRef.of(Dependency.class, new NamedLiteral("chooseOne"))))).thenReturn(
                         Optional.of(dependency));
             }
@@ -432,6 +474,7 @@ public class InjectionTest {
             @BeforeEach
             void setUp() {
                 reset(context);
+                when(context.require(any())).thenCallRealMethod();
                 when(context.get(eq(ComponentRef.of(Dependency.class, new NamedLiteral("chooseOne"))))).thenReturn(
                         Optional.of(dependency));
             }